@@ -2,9 +2,11 @@ package com.lms.analytics.controller;
 
 import com.lms.analytics.dto.CourseAnalytics;
 import com.lms.analytics.dto.StudentAnalytics;
+import com.lms.analytics.entity.AnalyticsEvent;
 import com.lms.analytics.entity.StudentProgress;
 import com.lms.analytics.service.AnalyticsService;
 import com.lms.common.dto.ApiResponse;
+import com.lms.common.dto.CursorPage;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
@@ -33,6 +35,20 @@ public class AnalyticsController {
         return ResponseEntity.ok(ApiResponse.success(analyticsService.getCourseAnalytics(courseId)));
     }
 
+    @GetMapping("/student/{studentId}/events")
+    public ResponseEntity<ApiResponse<CursorPage<AnalyticsEvent>>> getStudentEvents(
+            @PathVariable UUID studentId, @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size, @RequestParam(defaultValue = "false") boolean includeTotal) {
+        return ResponseEntity.ok(ApiResponse.success(analyticsService.getStudentEvents(studentId, cursor, size, includeTotal)));
+    }
+
+    @GetMapping("/course/{courseId}/events")
+    public ResponseEntity<ApiResponse<CursorPage<AnalyticsEvent>>> getCourseEvents(
+            @PathVariable UUID courseId, @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size, @RequestParam(defaultValue = "false") boolean includeTotal) {
+        return ResponseEntity.ok(ApiResponse.success(analyticsService.getCourseEvents(courseId, cursor, size, includeTotal)));
+    }
+
     @GetMapping("/student/{studentId}/course/{courseId}")
     public ResponseEntity<ApiResponse<StudentProgress>> getStudentCourseProgress(@PathVariable UUID studentId, @PathVariable UUID courseId) {
         return ResponseEntity.ok(ApiResponse.success(analyticsService.getStudentCourseProgress(studentId, courseId)));
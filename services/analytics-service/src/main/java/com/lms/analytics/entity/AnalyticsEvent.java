@@ -1,12 +1,16 @@
 package com.lms.analytics.entity;
 
 import com.lms.common.entity.BaseEntity;
+import com.lms.common.id.TimeOrderedId;
 import jakarta.persistence.*;
 import lombok.*;
 import lombok.experimental.SuperBuilder;
 import java.util.UUID;
 
-@Entity @Table(name = "analytics_events")
+@TimeOrderedId
+@Entity @Table(name = "analytics_events", indexes = {
+        @Index(name = "idx_analytics_events_user_keyset", columnList = "user_id, created_at, id"),
+        @Index(name = "idx_analytics_events_course_keyset", columnList = "course_id, created_at, id")})
 @Getter @Setter @SuperBuilder @NoArgsConstructor @AllArgsConstructor
 public class AnalyticsEvent extends BaseEntity {
     @Column(name = "user_id", nullable = false) private UUID userId;
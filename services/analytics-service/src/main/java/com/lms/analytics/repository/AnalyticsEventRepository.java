@@ -7,6 +7,8 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.UUID;
 
 @Repository
@@ -17,4 +19,18 @@ public interface AnalyticsEventRepository extends JpaRepository<AnalyticsEvent,
     Long getTotalTimeSpent(@Param("userId") UUID userId, @Param("courseId") UUID courseId);
     @Query("SELECT COUNT(DISTINCT e.userId) FROM AnalyticsEvent e WHERE e.courseId = :courseId")
     long countActiveUsersByCourse(@Param("courseId") UUID courseId);
+    long countByUserId(UUID userId);
+    long countByCourseId(UUID courseId);
+    @Query("SELECT e FROM AnalyticsEvent e WHERE e.userId = :userId ORDER BY e.createdAt DESC, e.id DESC")
+    List<AnalyticsEvent> findKeysetByUserId(@Param("userId") UUID userId, Pageable limit);
+    @Query("SELECT e FROM AnalyticsEvent e WHERE e.userId = :userId AND " +
+            "(e.createdAt < :createdAt OR (e.createdAt = :createdAt AND e.id < :id)) ORDER BY e.createdAt DESC, e.id DESC")
+    List<AnalyticsEvent> findKeysetByUserIdAfter(@Param("userId") UUID userId,
+            @Param("createdAt") LocalDateTime createdAt, @Param("id") UUID id, Pageable limit);
+    @Query("SELECT e FROM AnalyticsEvent e WHERE e.courseId = :courseId ORDER BY e.createdAt DESC, e.id DESC")
+    List<AnalyticsEvent> findKeysetByCourseId(@Param("courseId") UUID courseId, Pageable limit);
+    @Query("SELECT e FROM AnalyticsEvent e WHERE e.courseId = :courseId AND " +
+            "(e.createdAt < :createdAt OR (e.createdAt = :createdAt AND e.id < :id)) ORDER BY e.createdAt DESC, e.id DESC")
+    List<AnalyticsEvent> findKeysetByCourseIdAfter(@Param("courseId") UUID courseId,
+            @Param("createdAt") LocalDateTime createdAt, @Param("id") UUID id, Pageable limit);
 }
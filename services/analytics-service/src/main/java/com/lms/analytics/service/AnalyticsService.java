@@ -5,9 +5,12 @@ import com.lms.analytics.dto.StudentAnalytics;
 import com.lms.analytics.entity.StudentProgress;
 import com.lms.analytics.repository.AnalyticsEventRepository;
 import com.lms.analytics.repository.StudentProgressRepository;
+import com.lms.common.dto.CursorPage;
 import com.lms.common.event.AnalyticsEvent;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -61,6 +64,38 @@ public class AnalyticsService {
                 .studentsCompleted(completed).activeStudents(activeUsers).build();
     }
 
+    @Transactional(readOnly = true)
+    public CursorPage<com.lms.analytics.entity.AnalyticsEvent> getStudentEvents(UUID studentId, String cursor, int size, boolean includeTotal) {
+        size = CursorPage.boundedSize(size);
+        Pageable limit = PageRequest.of(0, size + 1);
+        List<com.lms.analytics.entity.AnalyticsEvent> rows;
+        if (cursor == null) {
+            rows = eventRepository.findKeysetByUserId(studentId, limit);
+        } else {
+            CursorPage.Cursor after = CursorPage.Cursor.decode(cursor);
+            rows = eventRepository.findKeysetByUserIdAfter(studentId, after.createdAt(), after.id(), limit);
+        }
+        Long total = includeTotal ? eventRepository.countByUserId(studentId) : null;
+        return CursorPage.of(rows, size, com.lms.analytics.entity.AnalyticsEvent::getCreatedAt,
+                com.lms.analytics.entity.AnalyticsEvent::getId, total);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<com.lms.analytics.entity.AnalyticsEvent> getCourseEvents(UUID courseId, String cursor, int size, boolean includeTotal) {
+        size = CursorPage.boundedSize(size);
+        Pageable limit = PageRequest.of(0, size + 1);
+        List<com.lms.analytics.entity.AnalyticsEvent> rows;
+        if (cursor == null) {
+            rows = eventRepository.findKeysetByCourseId(courseId, limit);
+        } else {
+            CursorPage.Cursor after = CursorPage.Cursor.decode(cursor);
+            rows = eventRepository.findKeysetByCourseIdAfter(courseId, after.createdAt(), after.id(), limit);
+        }
+        Long total = includeTotal ? eventRepository.countByCourseId(courseId) : null;
+        return CursorPage.of(rows, size, com.lms.analytics.entity.AnalyticsEvent::getCreatedAt,
+                com.lms.analytics.entity.AnalyticsEvent::getId, total);
+    }
+
     @Transactional(readOnly = true)
     public StudentProgress getStudentCourseProgress(UUID studentId, UUID courseId) {
         return progressRepository.findByStudentIdAndCourseId(studentId, courseId).orElse(null);
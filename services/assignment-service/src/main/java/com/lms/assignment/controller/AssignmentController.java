@@ -4,6 +4,7 @@ import com.lms.assignment.entity.Assignment;
 import com.lms.assignment.entity.Submission;
 import com.lms.assignment.service.AssignmentService;
 import com.lms.common.dto.ApiResponse;
+import com.lms.common.dto.CursorPage;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
@@ -61,6 +62,16 @@ public class AssignmentController {
         return ResponseEntity.ok(ApiResponse.success(assignmentService.getSubmissionsByAssignment(id)));
     }
 
+    @GetMapping("/{id}/submissions/cursor")
+    @PreAuthorize("hasAnyRole('ADMIN', 'INSTRUCTOR')")
+    @Operation(summary = "Get submissions for assignment (cursor)")
+    public ResponseEntity<ApiResponse<CursorPage<Submission>>> getSubmissionsCursor(
+            @PathVariable UUID id, @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size, @RequestParam(defaultValue = "false") boolean includeTotal) {
+        return ResponseEntity.ok(ApiResponse.success(
+                assignmentService.getSubmissionsByAssignment(id, cursor, size, includeTotal)));
+    }
+
     @PutMapping("/submissions/{submissionId}/grade")
     @PreAuthorize("hasAnyRole('ADMIN', 'INSTRUCTOR')")
     @Operation(summary = "Grade submission")
@@ -9,7 +9,8 @@ import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
-@Table(name = "submissions")
+@Table(name = "submissions", indexes = {
+        @Index(name = "idx_submissions_assignment_keyset", columnList = "assignment_id, created_at, id")})
 @Getter @Setter @SuperBuilder @NoArgsConstructor @AllArgsConstructor
 public class Submission extends BaseEntity {
     @ManyToOne(fetch = FetchType.LAZY)
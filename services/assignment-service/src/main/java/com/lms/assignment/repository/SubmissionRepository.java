@@ -8,6 +8,7 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -23,4 +24,11 @@ public interface SubmissionRepository extends JpaRepository<Submission, UUID> {
     int countAttempts(@Param("assignmentId") UUID assignmentId, @Param("studentId") UUID studentId);
     @Query("SELECT AVG(s.score) FROM Submission s WHERE s.assignment.id = :assignmentId AND s.status = 'GRADED'")
     Double getAverageScore(@Param("assignmentId") UUID assignmentId);
+    long countByAssignmentId(UUID assignmentId);
+    @Query("SELECT s FROM Submission s WHERE s.assignment.id = :assignmentId ORDER BY s.createdAt DESC, s.id DESC")
+    List<Submission> findKeysetByAssignmentId(@Param("assignmentId") UUID assignmentId, Pageable limit);
+    @Query("SELECT s FROM Submission s WHERE s.assignment.id = :assignmentId AND " +
+            "(s.createdAt < :createdAt OR (s.createdAt = :createdAt AND s.id < :id)) ORDER BY s.createdAt DESC, s.id DESC")
+    List<Submission> findKeysetByAssignmentIdAfter(@Param("assignmentId") UUID assignmentId,
+            @Param("createdAt") LocalDateTime createdAt, @Param("id") UUID id, Pageable limit);
 }
@@ -4,12 +4,15 @@ import com.lms.assignment.entity.Assignment;
 import com.lms.assignment.entity.Submission;
 import com.lms.assignment.repository.AssignmentRepository;
 import com.lms.assignment.repository.SubmissionRepository;
+import com.lms.common.dto.CursorPage;
 import com.lms.common.enums.SubmissionStatus;
 import com.lms.common.event.GradingJobEvent;
 import com.lms.common.exception.BadRequestException;
 import com.lms.common.exception.ResourceNotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -99,6 +102,21 @@ public class AssignmentService {
         return submissionRepository.findByAssignmentId(assignmentId);
     }
 
+    @Transactional(readOnly = true)
+    public CursorPage<Submission> getSubmissionsByAssignment(UUID assignmentId, String cursor, int size, boolean includeTotal) {
+        size = CursorPage.boundedSize(size);
+        Pageable limit = PageRequest.of(0, size + 1);
+        List<Submission> rows;
+        if (cursor == null) {
+            rows = submissionRepository.findKeysetByAssignmentId(assignmentId, limit);
+        } else {
+            CursorPage.Cursor after = CursorPage.Cursor.decode(cursor);
+            rows = submissionRepository.findKeysetByAssignmentIdAfter(assignmentId, after.createdAt(), after.id(), limit);
+        }
+        Long total = includeTotal ? submissionRepository.countByAssignmentId(assignmentId) : null;
+        return CursorPage.of(rows, size, Submission::getCreatedAt, Submission::getId, total);
+    }
+
     @Transactional(readOnly = true)
     public List<Submission> getPendingSubmissions(UUID assignmentId) {
         return submissionRepository.findByAssignmentIdAndStatus(assignmentId, SubmissionStatus.SUBMITTED);
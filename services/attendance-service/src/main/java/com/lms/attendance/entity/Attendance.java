@@ -1,6 +1,7 @@
 package com.lms.attendance.entity;
 
 import com.lms.common.entity.BaseEntity;
+import com.lms.common.id.TimeOrderedId;
 import com.lms.common.enums.AttendanceStatus;
 import jakarta.persistence.*;
 import lombok.*;
@@ -8,6 +9,7 @@ import lombok.experimental.SuperBuilder;
 import java.time.LocalDate;
 import java.util.UUID;
 
+@TimeOrderedId
 @Entity @Table(name = "attendance", uniqueConstraints = @UniqueConstraint(columnNames = {"course_id", "student_id", "date"}))
 @Getter @Setter @SuperBuilder @NoArgsConstructor @AllArgsConstructor
 public class Attendance extends BaseEntity {
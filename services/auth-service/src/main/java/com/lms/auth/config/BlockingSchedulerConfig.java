@@ -0,0 +1,23 @@
+package com.lms.auth.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Bounded pool for the JPA and Redis work that follows a Keycloak call.
+ * Request threads are released while Keycloak answers; only this pool, sized
+ * to the connection pool, ever blocks.
+ */
+@Configuration
+public class BlockingSchedulerConfig {
+
+    @Bean(destroyMethod = "dispose")
+    public Scheduler blockingScheduler(
+            @Value("${lms.auth.blocking.thread-cap:10}") int threadCap,
+            @Value("${lms.auth.blocking.queue-cap:10000}") int queueCap) {
+        return Schedulers.newBoundedElastic(threadCap, queueCap, "auth-blocking");
+    }
+}
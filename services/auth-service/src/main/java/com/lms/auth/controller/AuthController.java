@@ -14,6 +14,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 
 @Slf4j
 @RestController
@@ -26,7 +27,7 @@ public class AuthController {
 
     @PostMapping("/login")
     @Operation(summary = "Login user", description = "Authenticate user with username and password")
-    public ResponseEntity<ApiResponse<LoginResponse>> login(
+    public Mono<ResponseEntity<ApiResponse<LoginResponse>>> login(
             @Valid @RequestBody LoginRequest request,
             HttpServletRequest httpRequest) {
         
@@ -35,31 +36,30 @@ public class AuthController {
         
         log.info("Login attempt for user: {} from IP: {}", request.getUsername(), ipAddress);
         
-        LoginResponse response = authService.login(request, ipAddress, userAgent);
-        return ResponseEntity.ok(ApiResponse.success(response, "Login successful"));
+        return authService.login(request, ipAddress, userAgent)
+                .map(response -> ResponseEntity.ok(ApiResponse.success(response, "Login successful")));
     }
 
     @PostMapping("/refresh")
     @Operation(summary = "Refresh token", description = "Get new access token using refresh token")
-    public ResponseEntity<ApiResponse<TokenResponse>> refreshToken(
+    public Mono<ResponseEntity<ApiResponse<TokenResponse>>> refreshToken(
             @Valid @RequestBody RefreshTokenRequest request) {
         
         log.debug("Token refresh requested");
         
-        TokenResponse response = authService.refreshToken(request);
-        return ResponseEntity.ok(ApiResponse.success(response, "Token refreshed successfully"));
+        return authService.refreshToken(request)
+                .map(response -> ResponseEntity.ok(ApiResponse.success(response, "Token refreshed successfully")));
     }
 
     @PostMapping("/logout")
     @Operation(summary = "Logout user", description = "Invalidate user session and tokens")
-    public ResponseEntity<ApiResponse<Void>> logout(
+    public Mono<ResponseEntity<ApiResponse<Void>>> logout(
             @RequestBody(required = false) RefreshTokenRequest request,
             @RequestHeader(value = "X-Session-ID", required = false) String sessionId) {
         
         String refreshToken = request != null ? request.getRefreshToken() : null;
-        authService.logout(refreshToken, sessionId);
-        
-        return ResponseEntity.ok(ApiResponse.success("Logout successful"));
+        return authService.logout(refreshToken, sessionId)
+                .thenReturn(ResponseEntity.ok(ApiResponse.<Void>success("Logout successful")));
     }
 
     @GetMapping("/me")
@@ -67,8 +67,7 @@ public class AuthController {
     public ResponseEntity<ApiResponse<UserDto>> getCurrentUser(
             @AuthenticationPrincipal Jwt jwt) {
         
-        String keycloakId = jwt.getSubject();
-        UserDto user = authService.getCurrentUser(keycloakId);
+        UserDto user = authService.getCurrentUser(jwt);
         
         return ResponseEntity.ok(ApiResponse.success(user));
     }
@@ -1,6 +1,5 @@
 package com.lms.auth.service;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.lms.auth.dto.*;
 import com.lms.auth.entity.UserProfile;
 import com.lms.auth.entity.UserSession;
@@ -15,13 +14,14 @@ import com.lms.common.exception.ResourceNotFoundException;
 import com.lms.common.exception.UnauthorizedException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtException;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
 
-import java.util.Base64;
-import java.util.HashSet;
-import java.util.List;
-import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -32,33 +32,38 @@ public class AuthService {
 
     private final KeycloakService keycloakService;
     private final SessionService sessionService;
+    private final TokenIntrospector tokenIntrospector;
     private final UserProfileRepository userProfileRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Scheduler blockingScheduler;
+
+    /**
+     * Authenticates with Keycloak without holding a request thread while it
+     * answers; the profile and session writes then run on {@code blockingScheduler}.
+     */
+    public Mono<LoginResponse> login(LoginRequest request, String ipAddress, String userAgent) {
+        return keycloakService.login(request.getUsername(), request.getPassword())
+                .switchIfEmpty(Mono.error(() -> new UnauthorizedException("Authentication failed")))
+                .publishOn(blockingScheduler)
+                .map(tokenResponse -> completeLogin(request, tokenResponse, ipAddress, userAgent));
+    }
 
-    @Transactional
-    public LoginResponse login(LoginRequest request, String ipAddress, String userAgent) {
-        // Authenticate with Keycloak
-        KeycloakTokenResponse tokenResponse = keycloakService.login(
-                request.getUsername(), 
-                request.getPassword()
-        ).block();
-
-        if (tokenResponse == null) {
-            throw new UnauthorizedException("Authentication failed");
-        }
-
-        // Extract user info from JWT token
-        Map<String, Object> tokenClaims = decodeJwtPayload(tokenResponse.getAccessToken());
-        String sub = (String) tokenClaims.get("sub");
-        String preferredUsername = (String) tokenClaims.getOrDefault("preferred_username", request.getUsername());
-        String email = (String) tokenClaims.getOrDefault("email", request.getUsername() + "@lms.local");
+    private LoginResponse completeLogin(LoginRequest request, KeycloakTokenResponse tokenResponse,
+                                        String ipAddress, String userAgent) {
+        // Verify the token locally; it stays cached for /me until it expires
+        Jwt jwt = verify(tokenResponse.getAccessToken());
+        String sub = jwt.getSubject();
+        String preferredUsername = Objects.requireNonNullElse(JwtClaimsReader.username(jwt), request.getUsername());
+        String email = Objects.requireNonNullElse(JwtClaimsReader.email(jwt), request.getUsername() + "@lms.local");
 
-        // Create or update user profile
-        UserProfile userProfile = getOrCreateUserProfileFromToken(sub, preferredUsername, email);
-        userProfile.recordLogin();
-        userProfileRepository.save(userProfile);
+        // Create or update user profile; the session below lives in Redis and needs no transaction
+        UserProfile userProfile = transactionTemplate.execute(status -> {
+            UserProfile profile = getOrCreateUserProfileFromToken(sub, preferredUsername, email);
+            profile.recordLogin();
+            return userProfileRepository.save(profile);
+        });
 
-        // Extract roles from token
-        Set<String> roles = extractRolesFromToken(tokenClaims);
+        Set<String> roles = rolesOf(jwt);
 
         // Create session
         UserSession session = sessionService.createSession(
@@ -86,18 +91,11 @@ public class AuthService {
                 .build();
     }
     
-    @SuppressWarnings("unchecked")
-    private Map<String, Object> decodeJwtPayload(String token) {
+    private Jwt verify(String accessToken) {
         try {
-            String[] parts = token.split("\\.");
-            if (parts.length != 3) {
-                throw new UnauthorizedException("Invalid token format");
-            }
-            String payload = new String(Base64.getUrlDecoder().decode(parts[1]));
-            ObjectMapper mapper = new ObjectMapper();
-            return mapper.readValue(payload, Map.class);
-        } catch (Exception e) {
-            log.error("Failed to decode JWT: {}", e.getMessage());
+            return tokenIntrospector.decode(accessToken);
+        } catch (JwtException e) {
+            log.error("Failed to verify JWT: {}", e.getMessage());
             throw new UnauthorizedException("Failed to decode token");
         }
     }
@@ -116,28 +114,8 @@ public class AuthService {
                 });
     }
     
-    @SuppressWarnings("unchecked")
-    private Set<String> extractRolesFromToken(Map<String, Object> claims) {
-        Set<String> roles = new HashSet<>();
-        
-        // Check realm_access.roles
-        Map<String, Object> realmAccess = (Map<String, Object>) claims.get("realm_access");
-        if (realmAccess != null) {
-            List<String> realmRoles = (List<String>) realmAccess.get("roles");
-            if (realmRoles != null) {
-                roles.addAll(realmRoles);
-            }
-        }
-        
-        // Check direct roles claim (from lms-scope mapper)
-        Object directRoles = claims.get("roles");
-        if (directRoles instanceof List<?>) {
-            for (Object role : (List<?>) directRoles) {
-                if (role instanceof String) {
-                    roles.add((String) role);
-                }
-            }
-        }
+    private static Set<String> rolesOf(Jwt jwt) {
+        Set<String> roles = JwtClaimsReader.roles(jwt);
         
         // Ensure at least STUDENT role
         if (roles.isEmpty()) {
@@ -147,44 +125,39 @@ public class AuthService {
         return roles;
     }
 
-    public TokenResponse refreshToken(RefreshTokenRequest request) {
-        KeycloakTokenResponse tokenResponse = keycloakService.refreshToken(
-                request.getRefreshToken()
-        ).block();
-
-        if (tokenResponse == null) {
-            throw new UnauthorizedException("Token refresh failed");
-        }
-
-        return TokenResponse.builder()
-                .accessToken(tokenResponse.getAccessToken())
-                .refreshToken(tokenResponse.getRefreshToken())
-                .tokenType("Bearer")
-                .expiresIn(tokenResponse.getExpiresIn())
-                .refreshExpiresIn(tokenResponse.getRefreshExpiresIn())
-                .build();
+    public Mono<TokenResponse> refreshToken(RefreshTokenRequest request) {
+        return keycloakService.refreshToken(request.getRefreshToken())
+                .switchIfEmpty(Mono.error(() -> new UnauthorizedException("Token refresh failed")))
+                .map(tokenResponse -> TokenResponse.builder()
+                        .accessToken(tokenResponse.getAccessToken())
+                        .refreshToken(tokenResponse.getRefreshToken())
+                        .tokenType("Bearer")
+                        .expiresIn(tokenResponse.getExpiresIn())
+                        .refreshExpiresIn(tokenResponse.getRefreshExpiresIn())
+                        .build());
     }
 
-    public void logout(String refreshToken, String sessionId) {
+    public Mono<Void> logout(String refreshToken, String sessionId) {
         // Logout from Keycloak
-        keycloakService.logout(refreshToken).block();
+        Mono<Void> keycloakLogout = refreshToken != null ? keycloakService.logout(refreshToken) : Mono.empty();
 
-        // Invalidate local session if session ID is provided
-        if (sessionId != null && !sessionId.isEmpty()) {
-            sessionService.invalidateSession(sessionId);
-        }
-
-        log.info("User logged out successfully");
+        return keycloakLogout
+                .then(Mono.fromRunnable(() -> {
+                    // Invalidate local session if session ID is provided
+                    if (sessionId != null && !sessionId.isEmpty()) {
+                        sessionService.invalidateSession(sessionId);
+                    }
+                    log.info("User logged out successfully");
+                }).subscribeOn(blockingScheduler))
+                .then();
     }
 
-    public UserDto getCurrentUser(String keycloakId) {
+    public UserDto getCurrentUser(Jwt jwt) {
+        String keycloakId = jwt.getSubject();
         UserProfile userProfile = userProfileRepository.findByKeycloakId(keycloakId)
                 .orElseThrow(() -> new ResourceNotFoundException("User", "keycloakId", keycloakId));
 
-        // Get roles from a session or default
-        Set<String> roles = Set.of("STUDENT"); // Default role
-        
-        return mapToUserDto(userProfile, roles);
+        return mapToUserDto(userProfile, rolesOf(jwt));
     }
 
     public void initiatePasswordReset(String email) {
@@ -199,46 +172,6 @@ public class AuthService {
         log.info("Password reset initiated for: {}", email);
     }
 
-    private UserProfile getOrCreateUserProfile(KeycloakUserInfo userInfo) {
-        return userProfileRepository.findByKeycloakId(userInfo.getSub())
-                .orElseGet(() -> {
-                    UserProfile newProfile = UserProfile.builder()
-                            .keycloakId(userInfo.getSub())
-                            .username(userInfo.getPreferredUsername())
-                            .email(userInfo.getEmail())
-                            .firstName(userInfo.getGivenName())
-                            .lastName(userInfo.getFamilyName())
-                            .emailVerified(userInfo.isEmailVerified())
-                            .active(true)
-                            .build();
-                    log.info("Creating new user profile for: {}", userInfo.getPreferredUsername());
-                    return userProfileRepository.save(newProfile);
-                });
-    }
-
-    @SuppressWarnings("unchecked")
-    private Set<String> extractRoles(KeycloakUserInfo userInfo) {
-        Set<String> roles = new HashSet<>();
-        
-        if (userInfo.getRealmAccess() != null) {
-            Object rolesObj = userInfo.getRealmAccess().get("roles");
-            if (rolesObj instanceof List<?> rolesList) {
-                roles.addAll((List<String>) rolesList);
-            }
-        }
-        
-        if (userInfo.getRoles() != null) {
-            roles.addAll(userInfo.getRoles());
-        }
-        
-        // Ensure at least STUDENT role
-        if (roles.isEmpty()) {
-            roles.add("STUDENT");
-        }
-        
-        return roles;
-    }
-
     private UserDto mapToUserDto(UserProfile profile, Set<String> roleStrings) {
         Set<UserRole> roles = roleStrings.stream()
                 .map(role -> {
@@ -0,0 +1,87 @@
+package com.lms.auth.service;
+
+import com.lms.auth.config.KeycloakProperties;
+import com.nimbusds.jose.KeySourceException;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSelector;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.source.JWKSource;
+import com.nimbusds.jose.proc.SecurityContext;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URL;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Keycloak's realm signing keys, held in memory and refreshed in the
+ * background. A token signed with a key we don't know yet triggers an
+ * immediate reload, at most once per {@link #MIN_RELOAD_GAP}, to pick up
+ * key rotation without waiting for the next refresh.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class JwksKeySource implements JWKSource<SecurityContext> {
+
+    private static final Duration MIN_RELOAD_GAP = Duration.ofSeconds(30);
+    private static final int TIMEOUT_MILLIS = 5000;
+
+    private final KeycloakProperties keycloakProperties;
+
+    private volatile JWKSet jwkSet = new JWKSet();
+    private volatile Instant lastLoad = Instant.EPOCH;
+
+    @PostConstruct
+    public void initialize() {
+        try {
+            load();
+        } catch (KeySourceException e) {
+            // Keycloak may start after us; keys are loaded with the first token
+            log.warn("Could not load JWKS at startup: {}", e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${lms.auth.jwks.refresh-interval-ms:300000}")
+    public void refresh() {
+        try {
+            load();
+        } catch (KeySourceException e) {
+            log.warn("JWKS refresh failed, keeping {} cached key(s): {}", jwkSet.getKeys().size(), e.getMessage());
+        }
+    }
+
+    @Override
+    public List<JWK> get(JWKSelector selector, SecurityContext context) throws KeySourceException {
+        List<JWK> keys = selector.select(jwkSet);
+        if (keys.isEmpty() && reloadIfStale()) {
+            keys = selector.select(jwkSet);
+        }
+        return keys;
+    }
+
+    private synchronized boolean reloadIfStale() throws KeySourceException {
+        if (Instant.now().isBefore(lastLoad.plus(MIN_RELOAD_GAP))) {
+            return false;
+        }
+        load();
+        return true;
+    }
+
+    private synchronized void load() throws KeySourceException {
+        lastLoad = Instant.now();
+        try {
+            jwkSet = JWKSet.load(new URL(keycloakProperties.getCertsUrl()), TIMEOUT_MILLIS, TIMEOUT_MILLIS, 0);
+        } catch (IOException | ParseException e) {
+            throw new KeySourceException("Failed to load JWKS from " + keycloakProperties.getCertsUrl(), e);
+        }
+        log.debug("Loaded {} signing key(s) from JWKS", jwkSet.getKeys().size());
+    }
+}
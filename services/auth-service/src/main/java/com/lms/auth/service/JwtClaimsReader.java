@@ -0,0 +1,48 @@
+package com.lms.auth.service;
+
+import org.springframework.security.oauth2.jwt.Jwt;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Reads the claims Keycloak puts in LMS access tokens.
+ */
+public final class JwtClaimsReader {
+
+    private JwtClaimsReader() {
+    }
+
+    /**
+     * Realm roles plus the direct {@code roles} claim added by the lms-scope mapper.
+     */
+    public static Set<String> roles(Jwt jwt) {
+        Set<String> roles = new LinkedHashSet<>();
+        Map<String, Object> realmAccess = jwt.getClaimAsMap("realm_access");
+        if (realmAccess != null && realmAccess.get("roles") instanceof Collection<?> realmRoles) {
+            addStrings(roles, realmRoles);
+        }
+        if (jwt.getClaims().get("roles") instanceof Collection<?> directRoles) {
+            addStrings(roles, directRoles);
+        }
+        return roles;
+    }
+
+    public static String username(Jwt jwt) {
+        return jwt.getClaimAsString("preferred_username");
+    }
+
+    public static String email(Jwt jwt) {
+        return jwt.getClaimAsString("email");
+    }
+
+    private static void addStrings(Set<String> target, Collection<?> values) {
+        for (Object value : values) {
+            if (value instanceof String string) {
+                target.add(string);
+            }
+        }
+    }
+}
@@ -3,7 +3,9 @@ package com.lms.auth.service;
 import com.lms.auth.entity.UserSession;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.RedisOperations;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
 import org.springframework.stereotype.Service;
 
 import java.time.Duration;
@@ -11,7 +13,6 @@ import java.time.LocalDateTime;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
-import java.util.concurrent.TimeUnit;
 
 @Slf4j
 @Service
@@ -48,14 +49,19 @@ public class SessionService {
                 .active(true)
                 .build();
 
-        // Store session
+        // Store session and add it to the user's sessions set in one round trip
         String sessionKey = SESSION_PREFIX + sessionId;
-        redisTemplate.opsForValue().set(sessionKey, session, SESSION_TTL);
-
-        // Add to user's sessions set
         String userSessionsKey = USER_SESSIONS_PREFIX + userId;
-        redisTemplate.opsForSet().add(userSessionsKey, sessionId);
-        redisTemplate.expire(userSessionsKey, SESSION_TTL.toMinutes(), TimeUnit.MINUTES);
+        redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public Object execute(RedisOperations operations) {
+                operations.opsForValue().set(sessionKey, session, SESSION_TTL);
+                operations.opsForSet().add(userSessionsKey, sessionId);
+                operations.expire(userSessionsKey, SESSION_TTL);
+                return null;
+            }
+        });
 
         log.info("Session created for user {}: {}", username, sessionId);
         return session;
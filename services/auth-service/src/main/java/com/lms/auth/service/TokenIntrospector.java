@@ -0,0 +1,94 @@
+package com.lms.auth.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.proc.JWSVerificationKeySelector;
+import com.nimbusds.jose.proc.SecurityContext;
+import com.nimbusds.jwt.proc.DefaultJWTProcessor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+import org.springframework.security.oauth2.jwt.JwtValidators;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Verifies Keycloak access tokens locally against {@link JwksKeySource} and
+ * remembers each verified token until it expires, keyed by its SHA-256 hash.
+ * It is the service's {@link JwtDecoder}, so a token verified at login is
+ * not verified again when it comes back on {@code /me}.
+ */
+@Component
+public class TokenIntrospector implements JwtDecoder {
+
+    private final NimbusJwtDecoder delegate;
+    private final Cache<String, Jwt> verified;
+
+    public TokenIntrospector(JwksKeySource keySource,
+                             @Value("${spring.security.oauth2.resourceserver.jwt.issuer-uri}") String issuer,
+                             @Value("${lms.auth.token-cache.maximum-size:100000}") long maximumSize) {
+        DefaultJWTProcessor<SecurityContext> processor = new DefaultJWTProcessor<>();
+        processor.setJWSKeySelector(new JWSVerificationKeySelector<>(JWSAlgorithm.RS256, keySource));
+        // Claims are checked by the Spring validators below
+        processor.setJWTClaimsSetVerifier((claims, context) -> {
+        });
+        this.delegate = new NimbusJwtDecoder(processor);
+        this.delegate.setJwtValidator(JwtValidators.createDefaultWithIssuer(issuer));
+
+        this.verified = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new UntilExpiry())
+                .build();
+    }
+
+    @Override
+    public Jwt decode(String token) throws JwtException {
+        String key = hash(token);
+        Jwt jwt = verified.getIfPresent(key);
+        if (jwt != null) {
+            return jwt;
+        }
+        jwt = delegate.decode(token);
+        if (jwt.getExpiresAt() != null) {
+            verified.put(key, jwt);
+        }
+        return jwt;
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static final class UntilExpiry implements Expiry<String, Jwt> {
+
+        @Override
+        public long expireAfterCreate(String key, Jwt jwt, long currentTime) {
+            return Math.max(0, Duration.between(Instant.now(), jwt.getExpiresAt()).toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Jwt jwt, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, jwt, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, Jwt jwt, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
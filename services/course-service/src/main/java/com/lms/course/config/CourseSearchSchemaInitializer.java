@@ -0,0 +1,46 @@
+package com.lms.course.config;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Creates the full-text search column and GIN index behind course search.
+ * Hibernate's schema update can't express generated columns or GIN indexes,
+ * so they are applied here once the entity tables exist.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CourseSearchSchemaInitializer {
+
+    private static final String ADD_SEARCH_VECTOR = "ALTER TABLE courses ADD COLUMN IF NOT EXISTS search_vector tsvector " +
+            "GENERATED ALWAYS AS (" +
+            "setweight(to_tsvector('english', coalesce(title, '')), 'A') || " +
+            "setweight(to_tsvector('english', coalesce(search_tags, '')), 'B') || " +
+            "setweight(to_tsvector('english', coalesce(short_description, '')), 'B') || " +
+            "setweight(to_tsvector('english', coalesce(description, '')), 'C')) STORED";
+
+    private static final String CREATE_SEARCH_INDEX =
+            "CREATE INDEX IF NOT EXISTS idx_courses_search_vector ON courses USING gin (search_vector)";
+
+    private static final String BACKFILL_SEARCH_TAGS = "UPDATE courses c SET search_tags = t.tags " +
+            "FROM (SELECT course_id, string_agg(tag, ' ') AS tags FROM course_tags GROUP BY course_id) t " +
+            "WHERE c.id = t.course_id AND c.search_tags IS NULL";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // Injected only so the schema update has run before this initializer
+    private final EntityManagerFactory entityManagerFactory;
+
+    @PostConstruct
+    public void initialize() {
+        int backfilled = jdbcTemplate.update(BACKFILL_SEARCH_TAGS);
+        jdbcTemplate.execute(ADD_SEARCH_VECTOR);
+        jdbcTemplate.execute(CREATE_SEARCH_INDEX);
+        log.info("Course search schema ready, {} course(s) backfilled with search tags", backfilled);
+    }
+}
@@ -1,11 +1,20 @@
 package com.lms.course.controller;
 
 import com.lms.common.dto.ApiResponse;
+import com.lms.common.dto.CourseCardDto;
 import com.lms.common.dto.CourseDto;
+import com.lms.common.dto.CourseOutlineDto;
 import com.lms.common.dto.PagedResponse;
+import com.lms.common.enums.CourseStatus;
+import com.lms.course.dto.CourseImportResult;
 import com.lms.course.dto.CreateCourseRequest;
 import com.lms.course.dto.UpdateCourseRequest;
+import com.lms.course.service.CourseImportService;
+import com.lms.course.service.CourseOutlineService;
 import com.lms.course.service.CourseService;
+import com.lms.course.service.CourseSnapshot;
+import com.lms.course.service.CourseSnapshotService;
+import com.lms.course.service.CourseTagIndex;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
@@ -13,14 +22,18 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.InputStream;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 @RestController
@@ -30,28 +43,71 @@ import java.util.UUID;
 public class CourseController {
 
     private final CourseService courseService;
+    private final CourseOutlineService courseOutlineService;
+    private final CourseSnapshotService courseSnapshotService;
+    private final CourseImportService courseImportService;
 
     @GetMapping
     @Operation(summary = "Get all published courses", description = "Get paginated list of published courses")
-    public ResponseEntity<ApiResponse<PagedResponse<CourseDto>>> getAllCourses(
+    public ResponseEntity<ApiResponse<PagedResponse<CourseCardDto>>> getAllCourses(
             @PageableDefault(size = 20, sort = "createdAt", direction = Sort.Direction.DESC) Pageable pageable) {
-        PagedResponse<CourseDto> courses = courseService.getAllPublishedCourses(pageable);
+        PagedResponse<CourseCardDto> courses = courseService.getAllPublishedCourses(pageable);
         return ResponseEntity.ok(ApiResponse.success(courses));
     }
 
     @GetMapping("/{id}")
     @Operation(summary = "Get course by ID", description = "Get course details by ID")
-    public ResponseEntity<ApiResponse<CourseDto>> getCourseById(@PathVariable UUID id) {
-        CourseDto course = courseService.getCourseById(id);
-        return ResponseEntity.ok(ApiResponse.success(course));
+    public ResponseEntity<?> getCourseById(
+            @PathVariable UUID id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        // Published courses are served from pre-serialized snapshots; other
+        // courses never go through the snapshot cache
+        CourseSnapshot snapshot = courseSnapshotService.getCachedSnapshot(id);
+        if (snapshot == null) {
+            CourseDto course = courseService.getCourseById(id);
+            if (course.getStatus() == CourseStatus.PUBLISHED) {
+                snapshot = courseSnapshotService.getPublishedSnapshot(id);
+            }
+            if (snapshot == null) {
+                return ResponseEntity.ok(ApiResponse.success(course));
+            }
+        }
+        if (snapshot.matches(ifNoneMatch)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(snapshot.etag()).build();
+        }
+
+        boolean gzip = snapshot.hasGzip() && acceptsGzip(acceptEncoding);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .eTag(snapshot.etag())
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(gzip ? snapshot.gzip() : snapshot.json());
+    }
+
+    @PostMapping("/batch")
+    @Operation(summary = "Get courses by IDs", description = "Get up to 100 courses in one call, in request order; unknown IDs are skipped")
+    public ResponseEntity<ApiResponse<List<CourseDto>>> getCoursesByIds(@RequestBody List<UUID> ids) {
+        List<CourseDto> courses = courseService.getCoursesByIds(ids);
+        return ResponseEntity.ok(ApiResponse.success(courses));
+    }
+
+    @GetMapping("/{id}/outline")
+    @Operation(summary = "Get course outline", description = "Get all modules and lessons of a course in one response")
+    public ResponseEntity<ApiResponse<CourseOutlineDto>> getCourseOutline(@PathVariable UUID id) {
+        CourseOutlineDto outline = courseOutlineService.getCourseOutline(id);
+        return ResponseEntity.ok(ApiResponse.success(outline));
     }
 
     @GetMapping("/instructor/{instructorId}")
     @Operation(summary = "Get courses by instructor", description = "Get all courses for an instructor")
-    public ResponseEntity<ApiResponse<PagedResponse<CourseDto>>> getCoursesByInstructor(
+    public ResponseEntity<ApiResponse<PagedResponse<CourseCardDto>>> getCoursesByInstructor(
             @PathVariable UUID instructorId,
             @PageableDefault(size = 20) Pageable pageable) {
-        PagedResponse<CourseDto> courses = courseService.getCoursesByInstructor(instructorId, pageable);
+        PagedResponse<CourseCardDto> courses = courseService.getCoursesByInstructor(instructorId, pageable);
         return ResponseEntity.ok(ApiResponse.success(courses));
     }
 
@@ -67,6 +123,35 @@ public class CourseController {
                 .body(ApiResponse.success(course, "Course created successfully"));
     }
 
+    @PostMapping(value = "/import", consumes = {MediaType.APPLICATION_NDJSON_VALUE, "text/csv"})
+    @PreAuthorize("hasAnyRole('ADMIN', 'INSTRUCTOR')")
+    @Operation(summary = "Import courses", description = "Stream an NDJSON or CSV file of courses, modules and lessons")
+    public ResponseEntity<ApiResponse<CourseImportResult>> importCourses(
+            InputStream body,
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            @RequestParam(required = false) UUID importId,
+            @AuthenticationPrincipal Jwt jwt) {
+        UUID requesterId = UUID.fromString(jwt.getSubject());
+        boolean isAdmin = jwt.getClaimAsStringList("roles") != null && 
+                jwt.getClaimAsStringList("roles").contains("ADMIN");
+        CourseImportResult result = courseImportService.importCurriculum(
+                importId != null ? importId : UUID.randomUUID(), body, contentType, requesterId, isAdmin);
+        return ResponseEntity.ok(ApiResponse.success(result, "Course import finished"));
+    }
+
+    @GetMapping("/import/{importId}")
+    @PreAuthorize("hasAnyRole('ADMIN', 'INSTRUCTOR')")
+    @Operation(summary = "Get import progress", description = "Get progress and row errors of a course import")
+    public ResponseEntity<ApiResponse<CourseImportResult>> getImportProgress(
+            @PathVariable UUID importId,
+            @AuthenticationPrincipal Jwt jwt) {
+        UUID requesterId = UUID.fromString(jwt.getSubject());
+        boolean isAdmin = jwt.getClaimAsStringList("roles") != null && 
+                jwt.getClaimAsStringList("roles").contains("ADMIN");
+        CourseImportResult result = courseImportService.getImportProgress(importId, requesterId, isAdmin);
+        return ResponseEntity.ok(ApiResponse.success(result));
+    }
+
     @PutMapping("/{id}")
     @PreAuthorize("hasAnyRole('ADMIN', 'INSTRUCTOR')")
     @Operation(summary = "Update course", description = "Update course details")
@@ -109,34 +194,34 @@ public class CourseController {
 
     @GetMapping("/search")
     @Operation(summary = "Search courses", description = "Search published courses by title or description")
-    public ResponseEntity<ApiResponse<PagedResponse<CourseDto>>> searchCourses(
+    public ResponseEntity<ApiResponse<PagedResponse<CourseCardDto>>> searchCourses(
             @RequestParam String q,
             @PageableDefault(size = 20) Pageable pageable) {
-        PagedResponse<CourseDto> courses = courseService.searchCourses(q, pageable);
+        PagedResponse<CourseCardDto> courses = courseService.searchCourses(q, pageable);
         return ResponseEntity.ok(ApiResponse.success(courses));
     }
 
     @GetMapping("/popular")
     @Operation(summary = "Get popular courses", description = "Get most popular courses by enrollment")
-    public ResponseEntity<ApiResponse<List<CourseDto>>> getPopularCourses(
+    public ResponseEntity<ApiResponse<List<CourseCardDto>>> getPopularCourses(
             @RequestParam(defaultValue = "10") int limit) {
-        List<CourseDto> courses = courseService.getPopularCourses(limit);
+        List<CourseCardDto> courses = courseService.getPopularCourses(limit);
         return ResponseEntity.ok(ApiResponse.success(courses));
     }
 
     @GetMapping("/featured")
     @Operation(summary = "Get featured courses", description = "Get featured courses")
-    public ResponseEntity<ApiResponse<List<CourseDto>>> getFeaturedCourses() {
-        List<CourseDto> courses = courseService.getFeaturedCourses();
+    public ResponseEntity<ApiResponse<List<CourseCardDto>>> getFeaturedCourses() {
+        List<CourseCardDto> courses = courseService.getFeaturedCourses();
         return ResponseEntity.ok(ApiResponse.success(courses));
     }
 
     @GetMapping("/tag/{tag}")
     @Operation(summary = "Get courses by tag", description = "Get courses with specific tag")
-    public ResponseEntity<ApiResponse<PagedResponse<CourseDto>>> getCoursesByTag(
+    public ResponseEntity<ApiResponse<PagedResponse<CourseCardDto>>> getCoursesByTag(
             @PathVariable String tag,
             @PageableDefault(size = 20) Pageable pageable) {
-        PagedResponse<CourseDto> courses = courseService.getCoursesByTag(tag, pageable);
+        PagedResponse<CourseCardDto> courses = courseService.getCoursesByTag(tag, pageable);
         return ResponseEntity.ok(ApiResponse.success(courses));
     }
 
@@ -146,4 +231,54 @@ public class CourseController {
         List<String> tags = courseService.getAllTags();
         return ResponseEntity.ok(ApiResponse.success(tags));
     }
+
+    @GetMapping("/tags/filter")
+    @Operation(summary = "Filter courses by tags", description = "Get courses having all or any of the given tags")
+    public ResponseEntity<ApiResponse<PagedResponse<CourseCardDto>>> getCoursesByTags(
+            @RequestParam List<String> tags,
+            @RequestParam(defaultValue = "ALL") CourseTagIndex.Match match,
+            @PageableDefault(size = 20) Pageable pageable) {
+        PagedResponse<CourseCardDto> courses = courseService.getCoursesByTags(tags, match, pageable);
+        return ResponseEntity.ok(ApiResponse.success(courses));
+    }
+
+    @GetMapping("/tags/counts")
+    @Operation(summary = "Get tag counts", description = "Get course counts per tag, optionally within a tag filter")
+    public ResponseEntity<ApiResponse<Map<String, Integer>>> getTagCounts(
+            @RequestParam(required = false) List<String> tags,
+            @RequestParam(defaultValue = "ALL") CourseTagIndex.Match match) {
+        Map<String, Integer> counts = courseService.getTagCounts(tags, match);
+        return ResponseEntity.ok(ApiResponse.success(counts));
+    }
+
+    // Honours q-values, so "gzip;q=0" is a refusal; an explicit gzip entry overrides "*"
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        Double gzipQuality = null;
+        Double anyQuality = null;
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.split(";");
+            String name = parts[0].trim();
+            double quality = 1.0;
+            for (int i = 1; i < parts.length; i++) {
+                String param = parts[i].trim();
+                if (param.startsWith("q=")) {
+                    try {
+                        quality = Double.parseDouble(param.substring(2).trim());
+                    } catch (NumberFormatException e) {
+                        quality = 0;
+                    }
+                }
+            }
+            if ("gzip".equalsIgnoreCase(name) || "x-gzip".equalsIgnoreCase(name)) {
+                gzipQuality = quality;
+            } else if ("*".equals(name)) {
+                anyQuality = quality;
+            }
+        }
+        double quality = gzipQuality != null ? gzipQuality : anyQuality != null ? anyQuality : 0;
+        return quality > 0;
+    }
 }
@@ -91,4 +91,19 @@ public class LessonController {
         lessonService.deleteLesson(courseId, moduleId, lessonId, requesterId, isAdmin);
         return ResponseEntity.ok(ApiResponse.success("Lesson deleted successfully"));
     }
+
+    @PutMapping("/reorder")
+    @PreAuthorize("hasAnyRole('ADMIN', 'INSTRUCTOR')")
+    @Operation(summary = "Reorder lessons", description = "Reorder lessons in a module")
+    public ResponseEntity<ApiResponse<Void>> reorderLessons(
+            @PathVariable UUID courseId,
+            @PathVariable UUID moduleId,
+            @RequestBody List<UUID> lessonIds,
+            @AuthenticationPrincipal Jwt jwt) {
+        UUID requesterId = UUID.fromString(jwt.getSubject());
+        boolean isAdmin = jwt.getClaimAsStringList("roles") != null && 
+                jwt.getClaimAsStringList("roles").contains("ADMIN");
+        lessonService.reorderLessons(courseId, moduleId, lessonIds, requesterId, isAdmin);
+        return ResponseEntity.ok(ApiResponse.success("Lessons reordered successfully"));
+    }
 }
@@ -0,0 +1,41 @@
+package com.lms.course.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CourseImportResult {
+
+    public enum Status { RUNNING, COMPLETED, FAILED }
+
+    private UUID importId;
+    private UUID requestedBy;
+    private Status status;
+    private long rowsRead;
+    private long rowsFailed;
+    private long coursesCreated;
+    private long modulesCreated;
+    private long lessonsCreated;
+    private List<RowError> errors;
+    private boolean errorsTruncated;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RowError {
+        private long line;
+        private String message;
+    }
+}
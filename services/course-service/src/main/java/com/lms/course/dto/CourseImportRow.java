@@ -0,0 +1,73 @@
+package com.lms.course.dto;
+
+import com.lms.common.enums.LessonType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * One record of a curriculum import file. Records are nested by position:
+ * a MODULE belongs to the closest COURSE above it and a LESSON to the
+ * closest MODULE above it.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CourseImportRow {
+
+    public enum Record { COURSE, MODULE, LESSON }
+
+    private Record record;
+
+    private String title;
+
+    private String description;
+
+    // Course fields
+    private String shortDescription;
+
+    private String thumbnailUrl;
+
+    private UUID instructorId;
+
+    private String instructorName;
+
+    private BigDecimal price;
+
+    private Integer durationHours;
+
+    private String difficulty;
+
+    private List<String> tags;
+
+    private LocalDateTime startDate;
+
+    private LocalDateTime endDate;
+
+    private Integer maxStudents;
+
+    // Module and lesson fields
+    private Integer orderIndex;
+
+    private Integer durationMinutes;
+
+    // Lesson fields
+    private LessonType lessonType;
+
+    private String contentUrl;
+
+    private String contentId;
+
+    private Boolean free;
+
+    private String transcript;
+
+    private String additionalResources;
+}
@@ -5,6 +5,7 @@ import com.lms.common.enums.CourseStatus;
 import jakarta.persistence.*;
 import lombok.*;
 import lombok.experimental.SuperBuilder;
+import org.hibernate.annotations.BatchSize;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -54,21 +55,39 @@ public class Course extends BaseEntity {
     @Column(name = "difficulty")
     private String difficulty; // BEGINNER, INTERMEDIATE, ADVANCED
 
+    @BatchSize(size = 50)
     @ElementCollection
     @CollectionTable(name = "course_tags", joinColumns = @JoinColumn(name = "course_id"))
     @Column(name = "tag")
     @Builder.Default
     private List<String> tags = new ArrayList<>();
 
+    // Flattened copy of tags feeding the search_vector column
+    @Column(name = "search_tags", length = 2000)
+    private String searchTags;
+
+    @BatchSize(size = 50)
     @OneToMany(mappedBy = "course", cascade = CascadeType.ALL, orphanRemoval = true)
     @OrderBy("orderIndex ASC")
     @Builder.Default
     private List<Module> modules = new ArrayList<>();
 
-    @Column(name = "enrollment_count")
+    // Written only by EnrollmentCounter's relative UPDATE, so saving a loaded
+    // course can't write back a count that a flush has since moved
+    @Column(name = "enrollment_count", updatable = false)
     @Builder.Default
     private Integer enrollmentCount = 0;
 
+    // Curriculum totals are written only by adjustCurriculumStats and the
+    // reconciliation job, never by saving a loaded course
+    @Column(name = "total_lessons", updatable = false)
+    @Builder.Default
+    private Integer totalLessons = 0;
+
+    @Column(name = "total_duration_minutes", updatable = false)
+    @Builder.Default
+    private Integer totalDurationMinutes = 0;
+
     @Column(name = "average_rating")
     private Double averageRating;
 
@@ -85,6 +104,12 @@ public class Course extends BaseEntity {
     @Column(name = "max_students")
     private Integer maxStudents;
 
+    @PrePersist
+    @PreUpdate
+    protected void syncSearchTags() {
+        this.searchTags = tags != null ? String.join(" ", tags) : null;
+    }
+
     public void addModule(Module module) {
         modules.add(module);
         module.setCourse(this);
@@ -94,27 +119,4 @@ public class Course extends BaseEntity {
         modules.remove(module);
         module.setCourse(null);
     }
-
-    public void incrementEnrollment() {
-        this.enrollmentCount = this.enrollmentCount + 1;
-    }
-
-    public void decrementEnrollment() {
-        if (this.enrollmentCount > 0) {
-            this.enrollmentCount = this.enrollmentCount - 1;
-        }
-    }
-
-    public int getTotalLessons() {
-        return modules.stream()
-                .mapToInt(m -> m.getLessons().size())
-                .sum();
-    }
-
-    public int getTotalDurationMinutes() {
-        return modules.stream()
-                .flatMap(m -> m.getLessons().stream())
-                .mapToInt(l -> l.getDurationMinutes() != null ? l.getDurationMinutes() : 0)
-                .sum();
-    }
 }
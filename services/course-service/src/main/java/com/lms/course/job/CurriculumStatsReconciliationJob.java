@@ -0,0 +1,27 @@
+package com.lms.course.job;
+
+import com.lms.course.repository.CourseRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CurriculumStatsReconciliationJob {
+
+    private final CourseRepository courseRepository;
+
+    // Also run at startup so rows that predate the totals columns don't wait for the nightly run
+    @Transactional
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${lms.course.curriculum-stats.reconcile-cron:0 30 3 * * *}")
+    public void reconcile() {
+        int corrected = courseRepository.reconcileCurriculumStats();
+        log.info("Curriculum stats reconciled, {} course(s) corrected", corrected);
+    }
+}
@@ -0,0 +1,50 @@
+package com.lms.course.kafka;
+
+import com.lms.common.config.KafkaConfig;
+import com.lms.common.event.AnalyticsEvent;
+import com.lms.course.service.PopularityRanking;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "spring.kafka.bootstrap-servers")
+public class CourseActivityConsumer {
+
+    private static final double VIEW_WEIGHT = 1.0;
+    private static final double START_WEIGHT = 2.0;
+    private static final double COMPLETE_WEIGHT = 5.0;
+
+    private final PopularityRanking popularityRanking;
+
+    @KafkaListener(topics = KafkaConfig.TOPIC_ANALYTICS_EVENTS, groupId = "course-service")
+    public void handleAnalyticsEvent(AnalyticsEvent event, Acknowledgment ack) {
+        try {
+            double weight = weightOf(event.getAction());
+            if (event.getCourseId() != null && weight > 0) {
+                popularityRanking.recordActivity(event.getCourseId(), weight);
+            }
+        } catch (Exception e) {
+            log.error("Error processing analytics event {}: {}", event.getEventId(), e.getMessage());
+        }
+        // Activity only nudges the ranking, so a failed event is dropped rather than retried
+        ack.acknowledge();
+    }
+
+    private static double weightOf(String action) {
+        if (action == null) {
+            return 0;
+        }
+        return switch (action) {
+            case "VIEW" -> VIEW_WEIGHT;
+            case "START", "RESUME" -> START_WEIGHT;
+            case "COMPLETE" -> COMPLETE_WEIGHT;
+            default -> 0;
+        };
+    }
+}
@@ -0,0 +1,38 @@
+package com.lms.course.kafka;
+
+import com.lms.common.config.KafkaConfig;
+import com.lms.common.event.EnrollmentCountEvent;
+import com.lms.course.service.CourseService;
+import com.lms.course.service.EnrollmentCounter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.listener.ConsumerSeekAware;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "spring.kafka.bootstrap-servers")
+public class EnrollmentCountConsumer implements ConsumerSeekAware {
+
+    private final CourseService courseService;
+    private final EnrollmentCounter enrollmentCounter;
+
+    @KafkaListener(topics = KafkaConfig.TOPIC_ENROLLMENT_EVENTS, groupId = "course-service")
+    public void handleEnrollmentCount(EnrollmentCountEvent event, Acknowledgment ack) {
+        // Acked only once EnrollmentCounter has flushed the delta, so a crash before then redelivers it
+        courseService.adjustEnrollment(event.getCourseId(), event.getDelta(), ack::acknowledge);
+    }
+
+    @Override
+    public void onPartitionsRevoked(Collection<TopicPartition> partitions) {
+        // Commit what we hold before another consumer re-reads the unacked events
+        enrollmentCounter.flush();
+    }
+}
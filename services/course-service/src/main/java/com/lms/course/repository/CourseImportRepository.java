@@ -0,0 +1,65 @@
+package com.lms.course.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Multi-row inserts used by the curriculum import. Each method takes the
+ * parameter rows of one chunk, in the column order of its statement.
+ */
+@Repository
+@RequiredArgsConstructor
+public class CourseImportRepository {
+
+    private static final String INSERT_COURSE = "INSERT INTO courses (id, title, description, short_description, " +
+            "thumbnail_url, instructor_id, instructor_name, status, price, duration_hours, difficulty, " +
+            "start_date, end_date, max_students, search_tags, enrollment_count, total_lessons, " +
+            "total_duration_minutes, is_featured, created_at, updated_at, created_by, updated_by, version) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, 'DRAFT', ?, ?, ?, ?, ?, ?, ?, 0, 0, 0, false, ?, ?, ?, ?, 0)";
+
+    private static final String INSERT_COURSE_TAG = "INSERT INTO course_tags (course_id, tag) VALUES (?, ?)";
+
+    private static final String INSERT_MODULE = "INSERT INTO modules (id, course_id, title, description, " +
+            "order_index, duration_minutes, is_published, created_at, updated_at, created_by, updated_by, version) " +
+            "VALUES (?, ?, ?, ?, ?, ?, false, ?, ?, ?, ?, 0)";
+
+    private static final String INSERT_LESSON = "INSERT INTO lessons (id, module_id, title, description, type, " +
+            "content_url, content_id, order_index, duration_minutes, is_free, is_published, transcript, " +
+            "additional_resources, created_at, updated_at, created_by, updated_by, version) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, false, ?, ?, ?, ?, ?, ?, 0)";
+
+    private static final String ADJUST_CURRICULUM_STATS = "UPDATE courses " +
+            "SET total_lessons = COALESCE(total_lessons, 0) + ?, " +
+            "total_duration_minutes = COALESCE(total_duration_minutes, 0) + ? WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void insertCourses(List<Object[]> rows) {
+        batch(INSERT_COURSE, rows);
+    }
+
+    public void insertCourseTags(List<Object[]> rows) {
+        batch(INSERT_COURSE_TAG, rows);
+    }
+
+    public void insertModules(List<Object[]> rows) {
+        batch(INSERT_MODULE, rows);
+    }
+
+    public void insertLessons(List<Object[]> rows) {
+        batch(INSERT_LESSON, rows);
+    }
+
+    public void adjustCurriculumStats(List<Object[]> rows) {
+        batch(ADJUST_CURRICULUM_STATS, rows);
+    }
+
+    private void batch(String sql, List<Object[]> rows) {
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(sql, rows);
+        }
+    }
+}
@@ -1,20 +1,30 @@
 package com.lms.course.repository;
 
+import com.lms.common.dto.CourseCardDto;
 import com.lms.common.enums.CourseStatus;
 import com.lms.course.entity.Course;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
 @Repository
 public interface CourseRepository extends JpaRepository<Course, UUID> {
 
+    String CARD_SELECT = "SELECT new com.lms.common.dto.CourseCardDto(c.id, c.title, c.shortDescription, " +
+            "c.thumbnailUrl, c.instructorId, c.instructorName, c.status, c.price, c.durationHours, " +
+            "c.difficulty, c.enrollmentCount, c.averageRating, " +
+            "COALESCE(c.totalLessons, 0), COALESCE(c.totalDurationMinutes, 0), " +
+            "c.startDate, c.createdAt) FROM Course c ";
+
     Page<Course> findByStatus(CourseStatus status, Pageable pageable);
 
     Page<Course> findByInstructorId(UUID instructorId, Pageable pageable);
@@ -43,4 +53,61 @@ public interface CourseRepository extends JpaRepository<Course, UUID> {
 
     @Query("SELECT COUNT(c) FROM Course c WHERE c.instructorId = :instructorId")
     long countByInstructorId(@Param("instructorId") UUID instructorId);
+
+    @Query(value = CARD_SELECT + "WHERE c.status = :status",
+            countQuery = "SELECT COUNT(c) FROM Course c WHERE c.status = :status")
+    Page<CourseCardDto> findCardsByStatus(@Param("status") CourseStatus status, Pageable pageable);
+
+    @Query(value = CARD_SELECT + "WHERE c.instructorId = :instructorId",
+            countQuery = "SELECT COUNT(c) FROM Course c WHERE c.instructorId = :instructorId")
+    Page<CourseCardDto> findCardsByInstructorId(@Param("instructorId") UUID instructorId, Pageable pageable);
+
+    // search_vector is a generated tsvector column with a GIN index, see CourseSearchSchemaInitializer
+    @Query(value = "SELECT c.id FROM courses c, websearch_to_tsquery('english', :query) q " +
+            "WHERE c.status = 'PUBLISHED' AND c.search_vector @@ q " +
+            "ORDER BY ts_rank(c.search_vector, q) DESC, c.id",
+            countQuery = "SELECT COUNT(*) FROM courses c WHERE c.status = 'PUBLISHED' " +
+                    "AND c.search_vector @@ websearch_to_tsquery('english', :query)",
+            nativeQuery = true)
+    Page<UUID> searchPublishedCourseIds(@Param("query") String query, Pageable pageable);
+
+    @Query(CARD_SELECT + "WHERE c.id IN :ids")
+    List<CourseCardDto> findCardsByIdIn(@Param("ids") Collection<UUID> ids);
+
+    @Query(CARD_SELECT + "WHERE c.status = 'PUBLISHED' ORDER BY c.enrollmentCount DESC")
+    List<CourseCardDto> findPopularCourseCards(Pageable pageable);
+
+    @Query(CARD_SELECT + "WHERE c.featured = true AND c.status = 'PUBLISHED'")
+    List<CourseCardDto> findFeaturedCourseCards();
+
+    @Query("SELECT c.id, c.enrollmentCount FROM Course c WHERE c.status = 'PUBLISHED'")
+    List<Object[]> findPublishedEnrollmentCounts();
+
+    @Query("SELECT c.id, t, c.createdAt FROM Course c JOIN c.tags t WHERE c.status = 'PUBLISHED' ORDER BY c.createdAt, c.id")
+    List<Object[]> findPublishedTagRows();
+
+    @Query("SELECT c.id, c.status, t, c.createdAt FROM Course c LEFT JOIN c.tags t WHERE c.updatedAt >= :since")
+    List<Object[]> findTagRowsUpdatedSince(@Param("since") LocalDateTime since);
+
+    // Native so it isn't subject to the columns' updatable = false mapping on Course
+    @Modifying
+    @Query(value = "UPDATE courses SET total_lessons = COALESCE(total_lessons, 0) + :lessonDelta, " +
+            "total_duration_minutes = COALESCE(total_duration_minutes, 0) + :durationDelta " +
+            "WHERE id = :courseId",
+            nativeQuery = true)
+    int adjustCurriculumStats(@Param("courseId") UUID courseId,
+                              @Param("lessonDelta") int lessonDelta,
+                              @Param("durationDelta") int durationDelta);
+
+    @Modifying
+    @Query(value = "UPDATE courses c SET " +
+            "total_lessons = s.lesson_count, total_duration_minutes = s.duration_minutes " +
+            "FROM (SELECT co.id AS course_id, COUNT(l.id) AS lesson_count, " +
+            "COALESCE(SUM(l.duration_minutes), 0) AS duration_minutes " +
+            "FROM courses co LEFT JOIN modules m ON m.course_id = co.id " +
+            "LEFT JOIN lessons l ON l.module_id = m.id GROUP BY co.id) s " +
+            "WHERE c.id = s.course_id AND (c.total_lessons IS DISTINCT FROM s.lesson_count " +
+            "OR c.total_duration_minutes IS DISTINCT FROM s.duration_minutes)",
+            nativeQuery = true)
+    int reconcileCurriculumStats();
 }
@@ -0,0 +1,74 @@
+package com.lms.course.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+@RequiredArgsConstructor
+public class CurriculumOrderRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public int countModulesInCourse(UUID courseId, List<UUID> moduleIds) {
+        String sql = "SELECT COUNT(*) FROM modules WHERE course_id = ? AND id IN (" + placeholders(moduleIds.size()) + ")";
+        List<Object> args = new ArrayList<>();
+        args.add(courseId);
+        args.addAll(moduleIds);
+        Integer count = jdbcTemplate.queryForObject(sql, Integer.class, args.toArray());
+        return count != null ? count : 0;
+    }
+
+    public int countLessonsInModule(UUID courseId, UUID moduleId, List<UUID> lessonIds) {
+        String sql = "SELECT COUNT(*) FROM lessons l JOIN modules m ON m.id = l.module_id " +
+                "WHERE m.course_id = ? AND l.module_id = ? AND l.id IN (" + placeholders(lessonIds.size()) + ")";
+        List<Object> args = new ArrayList<>();
+        args.add(courseId);
+        args.add(moduleId);
+        args.addAll(lessonIds);
+        Integer count = jdbcTemplate.queryForObject(sql, Integer.class, args.toArray());
+        return count != null ? count : 0;
+    }
+
+    public int reorderModules(UUID courseId, List<UUID> moduleIds) {
+        String sql = "UPDATE modules t SET order_index = v.order_index, " +
+                "version = COALESCE(t.version, 0) + 1, updated_at = now() " +
+                "FROM (VALUES " + orderedValues(moduleIds.size()) + ") AS v(id, order_index) " +
+                "WHERE t.id = v.id AND t.course_id = ?";
+        List<Object> args = orderedArgs(moduleIds);
+        args.add(courseId);
+        return jdbcTemplate.update(sql, args.toArray());
+    }
+
+    public int reorderLessons(UUID moduleId, List<UUID> lessonIds) {
+        String sql = "UPDATE lessons t SET order_index = v.order_index, " +
+                "version = COALESCE(t.version, 0) + 1, updated_at = now() " +
+                "FROM (VALUES " + orderedValues(lessonIds.size()) + ") AS v(id, order_index) " +
+                "WHERE t.id = v.id AND t.module_id = ?";
+        List<Object> args = orderedArgs(lessonIds);
+        args.add(moduleId);
+        return jdbcTemplate.update(sql, args.toArray());
+    }
+
+    private static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+
+    private static String orderedValues(int count) {
+        return String.join(", ", Collections.nCopies(count, "(CAST(? AS uuid), CAST(? AS integer))"));
+    }
+
+    private static List<Object> orderedArgs(List<UUID> ids) {
+        List<Object> args = new ArrayList<>(ids.size() * 2 + 1);
+        for (int i = 0; i < ids.size(); i++) {
+            args.add(ids.get(i));
+            args.add(i + 1);
+        }
+        return args;
+    }
+}
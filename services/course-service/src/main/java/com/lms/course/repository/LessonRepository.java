@@ -1,5 +1,6 @@
 package com.lms.course.repository;
 
+import com.lms.common.dto.LessonDto;
 import com.lms.course.entity.Lesson;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
@@ -25,4 +26,14 @@ public interface LessonRepository extends JpaRepository<Lesson, UUID> {
 
     @Query("SELECT COUNT(l) FROM Lesson l WHERE l.module.course.id = :courseId")
     long countByCourseId(@Param("courseId") UUID courseId);
+
+    long countByModuleId(UUID moduleId);
+
+    @Query("SELECT new com.lms.common.dto.LessonDto(l.id, l.module.id, l.title, l.description, l.type, " +
+            "l.contentUrl, l.orderIndex, l.durationMinutes, l.free, l.createdAt, l.updatedAt) " +
+            "FROM Lesson l WHERE l.module.course.id = :courseId ORDER BY l.orderIndex ASC")
+    List<LessonDto> findOutlineByCourseId(@Param("courseId") UUID courseId);
+
+    @Query("SELECT COALESCE(SUM(l.durationMinutes), 0) FROM Lesson l WHERE l.module.id = :moduleId")
+    long sumDurationMinutesByModuleId(@Param("moduleId") UUID moduleId);
 }
@@ -0,0 +1,90 @@
+package com.lms.course.service;
+
+import com.lms.course.dto.CourseImportResult;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Live counters of a running import, written by the importing thread and
+ * published to Redis as a {@link CourseImportResult} after every chunk.
+ * Errors are capped so a bad file can't grow memory without bound.
+ */
+class CourseImportProgress {
+
+    private final UUID importId;
+    private final UUID requestedBy;
+    private final int maxErrors;
+    private final LocalDateTime startedAt = LocalDateTime.now();
+
+    private final AtomicLong rowsRead = new AtomicLong();
+    private final AtomicLong rowsFailed = new AtomicLong();
+    private final AtomicLong coursesCreated = new AtomicLong();
+    private final AtomicLong modulesCreated = new AtomicLong();
+    private final AtomicLong lessonsCreated = new AtomicLong();
+    private final List<CourseImportResult.RowError> errors = new ArrayList<>();
+
+    private volatile boolean errorsTruncated;
+    private volatile CourseImportResult.Status status = CourseImportResult.Status.RUNNING;
+    private volatile LocalDateTime finishedAt;
+
+    CourseImportProgress(UUID importId, UUID requestedBy, int maxErrors) {
+        this.importId = importId;
+        this.requestedBy = requestedBy;
+        this.maxErrors = maxErrors;
+    }
+
+    boolean isRunning() {
+        return status == CourseImportResult.Status.RUNNING;
+    }
+
+    void rowRead() {
+        rowsRead.incrementAndGet();
+    }
+
+    void rowsFailed(long line, int count, String message) {
+        rowsFailed.addAndGet(count);
+        synchronized (errors) {
+            if (errors.size() < maxErrors) {
+                errors.add(new CourseImportResult.RowError(line, message));
+            } else {
+                errorsTruncated = true;
+            }
+        }
+    }
+
+    void chunkPersisted(int courses, int modules, int lessons) {
+        coursesCreated.addAndGet(courses);
+        modulesCreated.addAndGet(modules);
+        lessonsCreated.addAndGet(lessons);
+    }
+
+    void finish(CourseImportResult.Status finalStatus) {
+        finishedAt = LocalDateTime.now();
+        status = finalStatus;
+    }
+
+    CourseImportResult toResult() {
+        List<CourseImportResult.RowError> errorsCopy;
+        synchronized (errors) {
+            errorsCopy = new ArrayList<>(errors);
+        }
+        return CourseImportResult.builder()
+                .importId(importId)
+                .requestedBy(requestedBy)
+                .status(status)
+                .rowsRead(rowsRead.get())
+                .rowsFailed(rowsFailed.get())
+                .coursesCreated(coursesCreated.get())
+                .modulesCreated(modulesCreated.get())
+                .lessonsCreated(lessonsCreated.get())
+                .errors(errorsCopy)
+                .errorsTruncated(errorsTruncated)
+                .startedAt(startedAt)
+                .finishedAt(finishedAt)
+                .build();
+    }
+}
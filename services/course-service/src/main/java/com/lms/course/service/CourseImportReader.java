@@ -0,0 +1,176 @@
+package com.lms.course.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lms.course.dto.CourseImportRow;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Pulls curriculum rows one at a time from an NDJSON or CSV stream, so an
+ * import never holds more than the current record in memory. Malformed rows
+ * are returned as entries carrying an error instead of failing the stream.
+ *
+ * <p>CSV files need a header row naming {@link CourseImportRow} properties
+ * (camelCase or snake_case); tags are separated with {@code |}.
+ */
+class CourseImportReader implements Closeable {
+
+    enum Format {
+        NDJSON, CSV;
+
+        static Format fromContentType(String contentType) {
+            return contentType != null && contentType.toLowerCase().startsWith("text/csv") ? CSV : NDJSON;
+        }
+    }
+
+    record Entry(long line, CourseImportRow row, String error) {
+    }
+
+    private static final String TAG_SEPARATOR = "\\|";
+
+    private final BufferedReader reader;
+    private final Format format;
+    private final ObjectMapper objectMapper;
+
+    private long line;
+    private List<String> header;
+
+    CourseImportReader(InputStream in, Format format, ObjectMapper objectMapper) {
+        this.reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        this.format = format;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Returns the next non-blank row, or null at the end of the stream.
+     */
+    Entry next() throws IOException {
+        return format == Format.CSV ? nextCsv() : nextNdjson();
+    }
+
+    private Entry nextNdjson() throws IOException {
+        String text;
+        while ((text = reader.readLine()) != null) {
+            line++;
+            if (text.isBlank()) {
+                continue;
+            }
+            try {
+                return new Entry(line, objectMapper.readValue(text, CourseImportRow.class), null);
+            } catch (JsonProcessingException e) {
+                return new Entry(line, null, "Malformed JSON: " + e.getOriginalMessage());
+            }
+        }
+        return null;
+    }
+
+    private Entry nextCsv() throws IOException {
+        if (header == null) {
+            List<String> names = readCsvRecord();
+            if (names == null) {
+                return null;
+            }
+            header = names.stream().map(CourseImportReader::toPropertyName).toList();
+        }
+
+        List<String> values;
+        while ((values = readCsvRecord()) != null) {
+            if (values.size() == 1 && values.get(0).isBlank()) {
+                continue;
+            }
+            long recordLine = line;
+            if (values.size() > header.size()) {
+                return new Entry(recordLine, null, "Expected at most " + header.size() + " columns but got " + values.size());
+            }
+            Map<String, Object> fields = new HashMap<>();
+            for (int i = 0; i < values.size(); i++) {
+                String value = values.get(i).trim();
+                if (!value.isEmpty()) {
+                    fields.put(header.get(i), "tags".equals(header.get(i))
+                            ? Arrays.stream(value.split(TAG_SEPARATOR)).map(String::trim).toList()
+                            : value);
+                }
+            }
+            try {
+                return new Entry(recordLine, objectMapper.convertValue(fields, CourseImportRow.class), null);
+            } catch (IllegalArgumentException e) {
+                return new Entry(recordLine, null, "Invalid value: " + e.getMessage());
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Reads one RFC 4180 record; quoted fields may contain separators,
+     * doubled quotes and line breaks. {@link #line} ends on the record's last line.
+     */
+    private List<String> readCsvRecord() throws IOException {
+        int c = reader.read();
+        if (c == -1) {
+            return null;
+        }
+        line++;
+
+        List<String> values = new ArrayList<>();
+        StringBuilder value = new StringBuilder();
+        boolean quoted = false;
+        while (c != -1) {
+            if (quoted) {
+                if (c == '"') {
+                    reader.mark(1);
+                    int next = reader.read();
+                    if (next == '"') {
+                        value.append('"');
+                    } else {
+                        quoted = false;
+                        reader.reset();
+                    }
+                } else {
+                    if (c == '\n') {
+                        line++;
+                    }
+                    value.append((char) c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(value.toString());
+                value.setLength(0);
+            } else if (c == '\n') {
+                break;
+            } else if (c != '\r') {
+                value.append((char) c);
+            }
+            c = reader.read();
+        }
+        values.add(value.toString());
+        return values;
+    }
+
+    private static String toPropertyName(String column) {
+        String[] parts = column.trim().split("_");
+        StringBuilder name = new StringBuilder(parts[0]);
+        for (int i = 1; i < parts.length; i++) {
+            if (!parts[i].isEmpty()) {
+                name.append(Character.toUpperCase(parts[i].charAt(0))).append(parts[i].substring(1));
+            }
+        }
+        return name.toString();
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
@@ -0,0 +1,348 @@
+package com.lms.course.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lms.common.exception.ConflictException;
+import com.lms.common.exception.ForbiddenException;
+import com.lms.common.exception.ResourceNotFoundException;
+import com.lms.common.security.SecurityUtils;
+import com.lms.course.dto.CourseImportResult;
+import com.lms.course.dto.CourseImportRow;
+import com.lms.course.dto.CreateCourseRequest;
+import com.lms.course.dto.CreateLessonRequest;
+import com.lms.course.dto.CreateModuleRequest;
+import com.lms.course.repository.CourseImportRepository;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Streams a curriculum file into courses, modules and lessons. Rows are
+ * validated with the same constraints as the single-item endpoints and
+ * written in JDBC batches, one transaction per chunk, so memory stays flat
+ * regardless of file size. Imported courses start as drafts.
+ *
+ * <p>Progress is kept in Redis so any instance can answer a poll, and only
+ * the requester or an admin may read it.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CourseImportService {
+
+    private static final String KEY_PREFIX = "lms:course-import:";
+    private static final Duration PROGRESS_TTL = Duration.ofHours(1);
+
+    private final CourseImportRepository courseImportRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final StringRedisTemplate redisTemplate;
+
+    @Value("${lms.course.import.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${lms.course.import.max-errors:1000}")
+    private int maxErrors;
+
+    public CourseImportResult getImportProgress(UUID importId, UUID requesterId, boolean isAdmin) {
+        String value = redisTemplate.opsForValue().get(key(importId));
+        if (value == null) {
+            throw new ResourceNotFoundException("Import", "id", importId);
+        }
+        CourseImportResult result = read(value);
+        if (!isAdmin && !requesterId.equals(result.getRequestedBy())) {
+            throw new ForbiddenException("You don't have permission to view this import");
+        }
+        return result;
+    }
+
+    public CourseImportResult importCurriculum(UUID importId, InputStream in, String contentType,
+                                               UUID requesterId, boolean isAdmin) {
+        CourseImportProgress progress = new CourseImportProgress(importId, requesterId, maxErrors);
+        Boolean created = redisTemplate.opsForValue()
+                .setIfAbsent(key(importId), write(progress.toResult()), PROGRESS_TTL);
+        if (!Boolean.TRUE.equals(created)) {
+            throw new ConflictException("Import " + importId + " already exists");
+        }
+
+        ImportChunk chunk = new ImportChunk(requesterId, isAdmin, SecurityUtils.getCurrentUsername().orElse("system"));
+        CourseImportReader.Format format = CourseImportReader.Format.fromContentType(contentType);
+        try (CourseImportReader reader = new CourseImportReader(in, format, objectMapper)) {
+            CourseImportReader.Entry entry;
+            while ((entry = reader.next()) != null) {
+                progress.rowRead();
+                String error = entry.error() != null ? entry.error() : accept(chunk, entry);
+                if (error != null) {
+                    progress.rowsFailed(entry.line(), 1, error);
+                }
+                if (chunk.rows >= chunkSize) {
+                    flush(chunk, progress);
+                }
+            }
+            flush(chunk, progress);
+            progress.finish(CourseImportResult.Status.COMPLETED);
+        } catch (IOException | RuntimeException e) {
+            log.error("Course import {} aborted", importId, e);
+            progress.rowsFailed(0, 0, "Import aborted: " + NestedExceptionUtils.getMostSpecificCause(e).getMessage());
+            progress.finish(CourseImportResult.Status.FAILED);
+        }
+
+        CourseImportResult result = progress.toResult();
+        publish(result);
+        log.info("Course import {} {}: {} row(s) read, {} course(s), {} module(s), {} lesson(s), {} failed row(s)",
+                importId, result.getStatus(), result.getRowsRead(), result.getCoursesCreated(),
+                result.getModulesCreated(), result.getLessonsCreated(), result.getRowsFailed());
+        return result;
+    }
+
+    /**
+     * Validates a row and stages it in the chunk. Returns the error message for
+     * a rejected row; children of a rejected course or module are rejected too.
+     */
+    private String accept(ImportChunk chunk, CourseImportReader.Entry entry) {
+        CourseImportRow row = entry.row();
+        if (row.getRecord() == null) {
+            return "Record type is required (COURSE, MODULE or LESSON)";
+        }
+        return switch (row.getRecord()) {
+            case COURSE -> acceptCourse(chunk, entry.line(), row);
+            case MODULE -> acceptModule(chunk, entry.line(), row);
+            case LESSON -> acceptLesson(chunk, entry.line(), row);
+        };
+    }
+
+    private String acceptCourse(ImportChunk chunk, long line, CourseImportRow row) {
+        chunk.courseId = null;
+        chunk.moduleId = null;
+        String error = validate(CreateCourseRequest.builder()
+                .title(row.getTitle())
+                .description(row.getDescription())
+                .shortDescription(row.getShortDescription())
+                .build());
+        if (error != null) {
+            return error;
+        }
+
+        UUID courseId = UUID.randomUUID();
+        UUID instructorId = chunk.isAdmin && row.getInstructorId() != null ? row.getInstructorId() : chunk.requesterId;
+        Set<String> tags = new LinkedHashSet<>();
+        if (row.getTags() != null) {
+            row.getTags().stream().filter(tag -> tag != null && !tag.isBlank()).forEach(tags::add);
+        }
+        LocalDateTime now = LocalDateTime.now();
+
+        chunk.courses.add(new Object[]{courseId, row.getTitle(), row.getDescription(), row.getShortDescription(),
+                row.getThumbnailUrl(), instructorId, row.getInstructorName(),
+                row.getPrice() != null ? row.getPrice() : BigDecimal.ZERO, row.getDurationHours(),
+                row.getDifficulty(), row.getStartDate(), row.getEndDate(), row.getMaxStudents(),
+                String.join(" ", tags), now, now, chunk.auditor, chunk.auditor});
+        tags.forEach(tag -> chunk.tags.add(new Object[]{courseId, tag}));
+
+        chunk.staged(line);
+        chunk.courseId = courseId;
+        chunk.courseInChunk = true;
+        chunk.nextModuleOrder = 1;
+        return null;
+    }
+
+    private String acceptModule(ImportChunk chunk, long line, CourseImportRow row) {
+        chunk.moduleId = null;
+        if (chunk.courseId == null) {
+            return "Module has no valid course above it";
+        }
+        String error = validate(CreateModuleRequest.builder()
+                .title(row.getTitle())
+                .description(row.getDescription())
+                .build());
+        if (error != null) {
+            return error;
+        }
+
+        UUID moduleId = UUID.randomUUID();
+        int orderIndex = row.getOrderIndex() != null ? row.getOrderIndex() : chunk.nextModuleOrder;
+        LocalDateTime now = LocalDateTime.now();
+
+        chunk.modules.add(new Object[]{moduleId, chunk.courseId, row.getTitle(), row.getDescription(),
+                orderIndex, row.getDurationMinutes(), now, now, chunk.auditor, chunk.auditor});
+
+        chunk.staged(line);
+        chunk.moduleId = moduleId;
+        chunk.moduleInChunk = true;
+        chunk.nextModuleOrder = orderIndex + 1;
+        chunk.nextLessonOrder = 1;
+        return null;
+    }
+
+    private String acceptLesson(ImportChunk chunk, long line, CourseImportRow row) {
+        if (chunk.moduleId == null) {
+            return "Lesson has no valid module above it";
+        }
+        String error = validate(CreateLessonRequest.builder()
+                .title(row.getTitle())
+                .description(row.getDescription())
+                .type(row.getLessonType())
+                .build());
+        if (error != null) {
+            return error;
+        }
+
+        int orderIndex = row.getOrderIndex() != null ? row.getOrderIndex() : chunk.nextLessonOrder;
+        int duration = row.getDurationMinutes() != null ? row.getDurationMinutes() : 0;
+        LocalDateTime now = LocalDateTime.now();
+
+        chunk.lessons.add(new Object[]{UUID.randomUUID(), chunk.moduleId, row.getTitle(), row.getDescription(),
+                row.getLessonType().name(), row.getContentUrl(), row.getContentId(), orderIndex,
+                row.getDurationMinutes(), Boolean.TRUE.equals(row.getFree()), row.getTranscript(),
+                row.getAdditionalResources(), now, now, chunk.auditor, chunk.auditor});
+        chunk.curriculumStats.merge(chunk.courseId, new int[]{1, duration},
+                (a, b) -> new int[]{a[0] + b[0], a[1] + b[1]});
+
+        chunk.staged(line);
+        chunk.nextLessonOrder = orderIndex + 1;
+        return null;
+    }
+
+    private void flush(ImportChunk chunk, CourseImportProgress progress) {
+        if (chunk.rows == 0) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                courseImportRepository.insertCourses(chunk.courses);
+                courseImportRepository.insertCourseTags(chunk.tags);
+                courseImportRepository.insertModules(chunk.modules);
+                courseImportRepository.insertLessons(chunk.lessons);
+                courseImportRepository.adjustCurriculumStats(chunk.curriculumStats.entrySet().stream()
+                        .map(e -> new Object[]{e.getValue()[0], e.getValue()[1], e.getKey()})
+                        .collect(Collectors.toList()));
+            });
+            progress.chunkPersisted(chunk.courses.size(), chunk.modules.size(), chunk.lessons.size());
+        } catch (RuntimeException e) {
+            log.warn("Course import chunk starting at line {} failed", chunk.firstLine, e);
+            progress.rowsFailed(chunk.firstLine, chunk.rows, "Rows from line " + chunk.firstLine +
+                    " failed to persist: " + NestedExceptionUtils.getMostSpecificCause(e).getMessage());
+            // Anything still open was rolled back, so its remaining children must be rejected
+            if (chunk.courseInChunk) {
+                chunk.courseId = null;
+            }
+            if (chunk.moduleInChunk) {
+                chunk.moduleId = null;
+            }
+        }
+        chunk.clear();
+        publish(progress.toResult());
+    }
+
+    // A missed update only delays what pollers see, so it must not abort the import
+    private void publish(CourseImportResult result) {
+        try {
+            redisTemplate.opsForValue().set(key(result.getImportId()), write(result), PROGRESS_TTL);
+        } catch (DataAccessException e) {
+            log.warn("Failed to publish progress of course import {}: {}", result.getImportId(), e.getMessage());
+        }
+    }
+
+    private static String key(UUID importId) {
+        return KEY_PREFIX + importId;
+    }
+
+    private String write(CourseImportResult result) {
+        try {
+            return objectMapper.writeValueAsString(result);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private CourseImportResult read(String value) {
+        try {
+            return objectMapper.readValue(value, CourseImportResult.class);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private String validate(Object request) {
+        Set<ConstraintViolation<Object>> violations = validator.validate(request);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    /**
+     * Rows staged since the last flush, plus the position in the course/module
+     * nesting that carries over between chunks.
+     */
+    private static final class ImportChunk {
+
+        private final UUID requesterId;
+        private final boolean isAdmin;
+        private final String auditor;
+
+        private final List<Object[]> courses = new ArrayList<>();
+        private final List<Object[]> tags = new ArrayList<>();
+        private final List<Object[]> modules = new ArrayList<>();
+        private final List<Object[]> lessons = new ArrayList<>();
+        private final Map<UUID, int[]> curriculumStats = new HashMap<>();
+
+        private int rows;
+        private long firstLine;
+
+        private UUID courseId;
+        private UUID moduleId;
+        private boolean courseInChunk;
+        private boolean moduleInChunk;
+        private int nextModuleOrder;
+        private int nextLessonOrder;
+
+        private ImportChunk(UUID requesterId, boolean isAdmin, String auditor) {
+            this.requesterId = requesterId;
+            this.isAdmin = isAdmin;
+            this.auditor = auditor;
+        }
+
+        private void staged(long line) {
+            if (rows++ == 0) {
+                firstLine = line;
+            }
+        }
+
+        private void clear() {
+            courses.clear();
+            tags.clear();
+            modules.clear();
+            lessons.clear();
+            curriculumStats.clear();
+            rows = 0;
+            courseInChunk = false;
+            moduleInChunk = false;
+        }
+    }
+}
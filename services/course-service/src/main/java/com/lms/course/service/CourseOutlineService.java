@@ -0,0 +1,71 @@
+package com.lms.course.service;
+
+import com.lms.common.dto.CourseOutlineDto;
+import com.lms.common.dto.LessonDto;
+import com.lms.common.dto.ModuleDto;
+import com.lms.common.exception.ResourceNotFoundException;
+import com.lms.course.entity.Course;
+import com.lms.course.repository.CourseRepository;
+import com.lms.course.repository.LessonRepository;
+import com.lms.course.repository.ModuleRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CourseOutlineService {
+
+    public static final String CACHE_NAME = "course-outlines";
+
+    private final CourseRepository courseRepository;
+    private final ModuleRepository moduleRepository;
+    private final LessonRepository lessonRepository;
+
+    /**
+     * Builds the outline from one query per level (course, modules, lessons)
+     * instead of one lessons query per module. Cached as a single entry that
+     * every course, module and lesson mutation evicts.
+     */
+    @Transactional(readOnly = true)
+    @Cacheable(value = CACHE_NAME, key = "#courseId", sync = true)
+    public CourseOutlineDto getCourseOutline(UUID courseId) {
+        Course course = courseRepository.findById(courseId)
+                .orElseThrow(() -> new ResourceNotFoundException("Course", "id", courseId));
+
+        Map<UUID, List<LessonDto>> lessonsByModule = lessonRepository.findOutlineByCourseId(courseId).stream()
+                .collect(Collectors.groupingBy(LessonDto::getModuleId));
+
+        List<ModuleDto> modules = moduleRepository.findByCourseIdOrderByOrderIndexAsc(courseId).stream()
+                .map(module -> ModuleDto.builder()
+                        .id(module.getId())
+                        .courseId(courseId)
+                        .title(module.getTitle())
+                        .description(module.getDescription())
+                        .orderIndex(module.getOrderIndex())
+                        .durationMinutes(module.getDurationMinutes())
+                        .lessons(lessonsByModule.getOrDefault(module.getId(), new ArrayList<>()))
+                        .createdAt(module.getCreatedAt())
+                        .updatedAt(module.getUpdatedAt())
+                        .build())
+                .collect(Collectors.toList());
+
+        return CourseOutlineDto.builder()
+                .id(course.getId())
+                .title(course.getTitle())
+                .status(course.getStatus())
+                .totalLessons(course.getTotalLessons())
+                .totalDurationMinutes(course.getTotalDurationMinutes())
+                .modules(modules)
+                .build();
+    }
+}
@@ -1,10 +1,14 @@
 package com.lms.course.service;
 
+import com.lms.common.cache.CacheBatches;
+import com.lms.common.dto.CourseCardDto;
 import com.lms.common.dto.CourseDto;
 import com.lms.common.dto.PagedResponse;
 import com.lms.common.enums.CourseStatus;
+import com.lms.common.exception.BadRequestException;
 import com.lms.common.exception.ForbiddenException;
 import com.lms.common.exception.ResourceNotFoundException;
+import com.lms.common.transaction.TransactionCallbacks;
 import com.lms.course.dto.CreateCourseRequest;
 import com.lms.course.dto.UpdateCourseRequest;
 import com.lms.course.entity.Course;
@@ -12,16 +16,23 @@ import com.lms.course.mapper.CourseMapper;
 import com.lms.course.repository.CourseRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -29,33 +40,47 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class CourseService {
 
+    static final int MAX_BATCH_SIZE = 100;
+    static final int MAX_POPULAR_LIMIT = 50;
+
     private final CourseRepository courseRepository;
     private final CourseMapper courseMapper;
+    private final EnrollmentCounter enrollmentCounter;
+    private final CourseSnapshotService courseSnapshotService;
+    private final CourseTagIndex courseTagIndex;
+    private final PopularityRanking popularityRanking;
+    private final CacheManager cacheManager;
 
     @Transactional(readOnly = true)
-    public PagedResponse<CourseDto> getAllPublishedCourses(Pageable pageable) {
-        Page<Course> courses = courseRepository.findByStatus(CourseStatus.PUBLISHED, pageable);
-        List<CourseDto> dtos = courses.getContent().stream()
-                .map(courseMapper::toDto)
-                .collect(Collectors.toList());
-        return PagedResponse.of(courses, dtos);
+    public PagedResponse<CourseCardDto> getAllPublishedCourses(Pageable pageable) {
+        return PagedResponse.of(courseRepository.findCardsByStatus(CourseStatus.PUBLISHED, pageable));
     }
 
     @Transactional(readOnly = true)
-    @Cacheable(value = "courses", key = "#id")
+    @Cacheable(value = "courses", key = "#id", sync = true)
     public CourseDto getCourseById(UUID id) {
         Course course = courseRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Course", "id", id));
         return courseMapper.toDto(course);
     }
 
+    /**
+     * Courses for the given ids in request order, read through the "courses"
+     * cache. Unknown ids are skipped; all cache misses are loaded with one query.
+     */
     @Transactional(readOnly = true)
-    public PagedResponse<CourseDto> getCoursesByInstructor(UUID instructorId, Pageable pageable) {
-        Page<Course> courses = courseRepository.findByInstructorId(instructorId, pageable);
-        List<CourseDto> dtos = courses.getContent().stream()
-                .map(courseMapper::toDto)
-                .collect(Collectors.toList());
-        return PagedResponse.of(courses, dtos);
+    public List<CourseDto> getCoursesByIds(List<UUID> ids) {
+        if (ids.size() > MAX_BATCH_SIZE) {
+            throw new BadRequestException("At most " + MAX_BATCH_SIZE + " course ids can be requested at once");
+        }
+        return CacheBatches.getAll(cacheManager.getCache("courses"), ids, missing ->
+                courseRepository.findAllById(missing).stream()
+                        .collect(Collectors.toMap(Course::getId, courseMapper::toDto)));
+    }
+
+    @Transactional(readOnly = true)
+    public PagedResponse<CourseCardDto> getCoursesByInstructor(UUID instructorId, Pageable pageable) {
+        return PagedResponse.of(courseRepository.findCardsByInstructorId(instructorId, pageable));
     }
 
     @Transactional
@@ -84,7 +109,7 @@ public class CourseService {
     }
 
     @Transactional
-    @CacheEvict(value = "courses", key = "#id")
+    @CacheEvict(value = {"courses", CourseOutlineService.CACHE_NAME}, key = "#id")
     public CourseDto updateCourse(UUID id, UpdateCourseRequest request, UUID requesterId, boolean isAdmin) {
         Course course = courseRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Course", "id", id));
@@ -134,14 +159,21 @@ public class CourseService {
             course.setMaxStudents(request.getMaxStudents());
         }
 
-        course = courseRepository.save(course);
+        course = courseRepository.saveAndFlush(course);
+        if (course.getStatus() == CourseStatus.PUBLISHED) {
+            courseSnapshotService.replaceAfterCommit(course);
+        } else {
+            courseSnapshotService.evictAfterCommit(id);
+        }
+        courseTagIndex.update(course);
+        updatePopularity(course);
         log.info("Course updated: {}", course.getTitle());
 
         return courseMapper.toDto(course);
     }
 
     @Transactional
-    @CacheEvict(value = "courses", key = "#id")
+    @CacheEvict(value = {"courses", CourseOutlineService.CACHE_NAME, CourseSnapshotService.CACHE_NAME}, key = "#id")
     public void deleteCourse(UUID id, UUID requesterId, boolean isAdmin) {
         Course course = courseRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Course", "id", id));
@@ -154,11 +186,13 @@ public class CourseService {
         // Soft delete by changing status
         course.setStatus(CourseStatus.ARCHIVED);
         courseRepository.save(course);
+        courseTagIndex.update(course);
+        updatePopularity(course);
         log.info("Course archived: {}", course.getTitle());
     }
 
     @Transactional
-    @CacheEvict(value = "courses", key = "#id")
+    @CacheEvict(value = {"courses", CourseOutlineService.CACHE_NAME}, key = "#id")
     public CourseDto publishCourse(UUID id, UUID requesterId, boolean isAdmin) {
         Course course = courseRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Course", "id", id));
@@ -169,64 +203,105 @@ public class CourseService {
         }
 
         course.setStatus(CourseStatus.PUBLISHED);
-        course = courseRepository.save(course);
+        course = courseRepository.saveAndFlush(course);
+        courseSnapshotService.replaceAfterCommit(course);
+        courseTagIndex.update(course);
+        updatePopularity(course);
         log.info("Course published: {}", course.getTitle());
 
         return courseMapper.toDto(course);
     }
 
     @Transactional(readOnly = true)
-    public PagedResponse<CourseDto> searchCourses(String query, Pageable pageable) {
-        Page<Course> courses = courseRepository.searchPublishedCourses(query, pageable);
-        List<CourseDto> dtos = courses.getContent().stream()
-                .map(courseMapper::toDto)
-                .collect(Collectors.toList());
-        return PagedResponse.of(courses, dtos);
+    public PagedResponse<CourseCardDto> searchCourses(String query, Pageable pageable) {
+        if (!StringUtils.hasText(query)) {
+            return PagedResponse.of(Page.empty(pageable));
+        }
+        // Results are ranked by ts_rank, so any client-supplied sort is ignored
+        Page<UUID> ids = courseRepository.searchPublishedCourseIds(query.trim(),
+                PageRequest.of(pageable.getPageNumber(), pageable.getPageSize()));
+        if (ids.isEmpty()) {
+            return PagedResponse.of(ids, List.of());
+        }
+
+        return PagedResponse.of(ids, findCardsInOrder(ids.getContent()));
     }
 
     @Transactional(readOnly = true)
-    public List<CourseDto> getPopularCourses(int limit) {
-        return courseRepository.findPopularCourses(PageRequest.of(0, limit)).stream()
-                .map(courseMapper::toDto)
-                .collect(Collectors.toList());
+    public List<CourseCardDto> getPopularCourses(int limit) {
+        if (limit < 1 || limit > MAX_POPULAR_LIMIT) {
+            throw new BadRequestException("limit must be between 1 and " + MAX_POPULAR_LIMIT);
+        }
+        List<UUID> ranked = popularityRanking.top(limit);
+        List<CourseCardDto> courses = ranked.isEmpty()
+                ? courseRepository.findPopularCourseCards(PageRequest.of(0, limit))
+                : findCardsInOrder(ranked);
+        courses.forEach(card -> card.setEnrollmentCount(
+                (int) (card.getEnrollmentCount() + enrollmentCounter.pendingDelta(card.getId()))));
+        return courses;
     }
 
     @Transactional(readOnly = true)
-    public List<CourseDto> getFeaturedCourses() {
-        return courseRepository.findFeaturedCourses().stream()
-                .map(courseMapper::toDto)
-                .collect(Collectors.toList());
+    public List<CourseCardDto> getFeaturedCourses() {
+        return courseRepository.findFeaturedCourseCards();
     }
 
     @Transactional(readOnly = true)
-    public PagedResponse<CourseDto> getCoursesByTag(String tag, Pageable pageable) {
-        Page<Course> courses = courseRepository.findByTag(tag, pageable);
-        List<CourseDto> dtos = courses.getContent().stream()
-                .map(courseMapper::toDto)
-                .collect(Collectors.toList());
-        return PagedResponse.of(courses, dtos);
+    public PagedResponse<CourseCardDto> getCoursesByTag(String tag, Pageable pageable) {
+        return getCoursesByTags(List.of(tag), CourseTagIndex.Match.ALL, pageable);
     }
 
     @Transactional(readOnly = true)
+    public PagedResponse<CourseCardDto> getCoursesByTags(List<String> tags, CourseTagIndex.Match match,
+                                                         Pageable pageable) {
+        // Listed newest first from the tag index, so any client-supplied sort is ignored
+        RoaringBitmap matches = courseTagIndex.match(tags, match);
+        List<UUID> ids = courseTagIndex.newestFirst(matches, pageable.getOffset(), pageable.getPageSize());
+        Page<UUID> page = new PageImpl<>(ids, pageable, matches.getLongCardinality());
+        return PagedResponse.of(page, findCardsInOrder(ids));
+    }
+
     public List<String> getAllTags() {
-        return courseRepository.findAllTags();
+        return courseTagIndex.tags();
     }
 
-    @Transactional
-    @CacheEvict(value = "courses", key = "#courseId")
-    public void incrementEnrollment(UUID courseId) {
-        Course course = courseRepository.findById(courseId)
-                .orElseThrow(() -> new ResourceNotFoundException("Course", "id", courseId));
-        course.incrementEnrollment();
-        courseRepository.save(course);
+    public Map<String, Integer> getTagCounts(List<String> tags, CourseTagIndex.Match match) {
+        if (tags == null || tags.isEmpty()) {
+            return courseTagIndex.counts(null);
+        }
+        return courseTagIndex.counts(courseTagIndex.match(tags, match));
     }
 
-    @Transactional
-    @CacheEvict(value = "courses", key = "#courseId")
-    public void decrementEnrollment(UUID courseId) {
-        Course course = courseRepository.findById(courseId)
-                .orElseThrow(() -> new ResourceNotFoundException("Course", "id", courseId));
-        course.decrementEnrollment();
-        courseRepository.save(course);
+    private List<CourseCardDto> findCardsInOrder(List<UUID> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<UUID, CourseCardDto> cards = courseRepository.findCardsByIdIn(ids).stream()
+                .collect(Collectors.toMap(CourseCardDto::getId, Function.identity()));
+        return ids.stream()
+                .map(cards::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Buffers an enrollment count change; {@code onPersisted} runs once the
+     * next counter flush has written it.
+     */
+    public void adjustEnrollment(UUID courseId, long delta, Runnable onPersisted) {
+        enrollmentCounter.add(courseId, delta, onPersisted);
+        if (courseId != null && delta != 0) {
+            popularityRanking.recordEnrollment(courseId, delta);
+        }
+    }
+
+    private void updatePopularity(Course course) {
+        UUID courseId = course.getId();
+        if (course.getStatus() == CourseStatus.PUBLISHED) {
+            int enrollmentCount = course.getEnrollmentCount() != null ? course.getEnrollmentCount() : 0;
+            TransactionCallbacks.afterCommit(() -> popularityRanking.published(courseId, enrollmentCount));
+        } else {
+            TransactionCallbacks.afterCommit(() -> popularityRanking.unpublished(courseId));
+        }
     }
 }
@@ -0,0 +1,27 @@
+package com.lms.course.service;
+
+import java.util.UUID;
+
+/**
+ * Immutable, ready-to-send {@code ApiResponse<CourseDto>} body of a published course.
+ * {@code gzip} is null when the body was too small to be worth compressing.
+ */
+public record CourseSnapshot(UUID courseId, long version, String etag, byte[] json, byte[] gzip) {
+
+    public boolean matches(String ifNoneMatch) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*") || tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public boolean hasGzip() {
+        return gzip != null;
+    }
+}
@@ -0,0 +1,126 @@
+package com.lms.course.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lms.common.dto.ApiResponse;
+import com.lms.common.dto.CourseDto;
+import com.lms.common.enums.CourseStatus;
+import com.lms.common.transaction.TransactionCallbacks;
+import com.lms.course.entity.Course;
+import com.lms.course.mapper.CourseMapper;
+import com.lms.course.repository.CourseRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.UUID;
+import java.util.zip.CRC32;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Keeps a pre-serialized snapshot of every published course in the
+ * {@value #CACHE_NAME} cache so detail reads skip DTO mapping and JSON
+ * serialization. Publish and update swap the snapshot after commit;
+ * curriculum changes and archiving evict it and the next read rebuilds it.
+ * Enrollment counts inside a snapshot are as of when it was built.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CourseSnapshotService {
+
+    public static final String CACHE_NAME = "course-snapshots";
+
+    private final CourseRepository courseRepository;
+    private final CourseMapper courseMapper;
+    private final CacheManager cacheManager;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${lms.course.snapshots.gzip:true}")
+    private boolean gzipEnabled;
+
+    @Value("${lms.course.snapshots.gzip-min-bytes:1024}")
+    private int gzipMinBytes;
+
+    /**
+     * The cached snapshot of a course, or null on a miss. Never touches the database.
+     */
+    public CourseSnapshot getCachedSnapshot(UUID courseId) {
+        Cache.ValueWrapper cached = cache().get(courseId);
+        return cached != null ? (CourseSnapshot) cached.get() : null;
+    }
+
+    /**
+     * Returns the snapshot of a published course, building it on a miss. Only
+     * call for courses known to be published: a course found unpublished
+     * while rebuilding yields null, which the cache stores as an eviction.
+     */
+    public CourseSnapshot getPublishedSnapshot(UUID courseId) {
+        return cache().get(courseId, () -> transactionTemplate.execute(status -> courseRepository.findById(courseId)
+                .filter(course -> course.getStatus() == CourseStatus.PUBLISHED)
+                .map(this::build)
+                .orElse(null)));
+    }
+
+    /**
+     * Replaces the snapshot once the surrounding transaction commits, so readers
+     * never see a version that was rolled back. Expects the course to be flushed
+     * so its {@code @Version} is current.
+     */
+    public void replaceAfterCommit(Course course) {
+        CourseSnapshot snapshot = build(course);
+        TransactionCallbacks.afterCommit(() -> {
+            cache().put(snapshot.courseId(), snapshot);
+            log.debug("Course snapshot swapped: {} {}", snapshot.courseId(), snapshot.etag());
+        });
+    }
+
+    public void evictAfterCommit(UUID courseId) {
+        TransactionCallbacks.afterCommit(() -> cache().evict(courseId));
+    }
+
+    private CourseSnapshot build(Course course) {
+        CourseDto dto = courseMapper.toDto(course);
+        byte[] json;
+        try {
+            json = objectMapper.writeValueAsBytes(ApiResponse.success(dto));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize course " + course.getId(), e);
+        }
+        long version = course.getVersion() != null ? course.getVersion() : 0L;
+
+        // Enrollment counts and curriculum edits don't bump @Version, so the body checksum keeps the ETag strong
+        CRC32 crc = new CRC32();
+        crc.update(json);
+        String etag = "\"" + version + "-" + Long.toHexString(crc.getValue()) + "\"";
+
+        byte[] gzip = gzipEnabled && json.length >= gzipMinBytes ? gzip(json) : null;
+        return new CourseSnapshot(course.getId(), version, etag, json, gzip);
+    }
+
+    private Cache cache() {
+        Cache cache = cacheManager.getCache(CACHE_NAME);
+        if (cache == null) {
+            throw new IllegalStateException("Cache not configured: " + CACHE_NAME);
+        }
+        return cache;
+    }
+
+    private static byte[] gzip(byte[] json) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(json.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,268 @@
+package com.lms.course.service;
+
+import com.lms.common.enums.CourseStatus;
+import com.lms.common.transaction.TransactionCallbacks;
+import com.lms.course.entity.Course;
+import com.lms.course.repository.CourseRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-process index of published courses by tag. Each course gets a dense
+ * ordinal and each tag a bitmap of ordinals, so tag filters and facet counts
+ * never touch the course_tags table. Ordinals are assigned in the order
+ * courses reach the index, which differs between instances, so listings
+ * sort the matches by creation time rather than by ordinal.
+ *
+ * <p>Local writes are applied after commit; changes made on other instances
+ * are picked up by the periodic refresh of recently updated courses.
+ * A course that stops being published leaves its bitmaps but keeps its
+ * ordinal slot until the next full build, which renumbers from scratch.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CourseTagIndex {
+
+    public enum Match { ALL, ANY }
+
+    // A course saved on another instance carries that instance's clock in updated_at
+    private static final long REFRESH_OVERLAP_SECONDS = 60;
+
+    private final CourseRepository courseRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<UUID, Integer> ordinals = new HashMap<>();
+    private final List<UUID> courseIds = new ArrayList<>();
+    private final List<LocalDateTime> createdAts = new ArrayList<>();
+    private final Map<Integer, Set<String>> tagsByOrdinal = new HashMap<>();
+    private final Map<String, RoaringBitmap> postings = new HashMap<>();
+
+    private volatile LocalDateTime lastRefresh;
+
+    @PostConstruct
+    public void build() {
+        LocalDateTime startedAt = LocalDateTime.now();
+        List<Object[]> rows = courseRepository.findPublishedTagRows();
+        Map<UUID, Set<String>> published = groupTags(rows);
+        Map<UUID, LocalDateTime> created = new HashMap<>();
+        rows.forEach(row -> created.put((UUID) row[0], (LocalDateTime) row[2]));
+
+        lock.writeLock().lock();
+        try {
+            ordinals.clear();
+            courseIds.clear();
+            createdAts.clear();
+            tagsByOrdinal.clear();
+            postings.clear();
+            published.forEach((courseId, tags) -> apply(courseId, created.get(courseId), true, tags));
+            postings.values().forEach(RoaringBitmap::runOptimize);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        lastRefresh = startedAt;
+        log.info("Course tag index built: {} course(s), {} tag(s)", published.size(), postings.size());
+    }
+
+    @Scheduled(fixedDelayString = "${lms.course.tag-index.refresh-interval-ms:30000}")
+    public void refresh() {
+        LocalDateTime startedAt = LocalDateTime.now();
+        LocalDateTime since = lastRefresh.minusSeconds(REFRESH_OVERLAP_SECONDS);
+
+        Map<UUID, CourseStatus> statuses = new HashMap<>();
+        Map<UUID, LocalDateTime> created = new HashMap<>();
+        Map<UUID, Set<String>> tags = new LinkedHashMap<>();
+        for (Object[] row : courseRepository.findTagRowsUpdatedSince(since)) {
+            UUID courseId = (UUID) row[0];
+            statuses.put(courseId, (CourseStatus) row[1]);
+            created.put(courseId, (LocalDateTime) row[3]);
+            Set<String> courseTags = tags.computeIfAbsent(courseId, id -> new LinkedHashSet<>());
+            if (row[2] != null) {
+                courseTags.add((String) row[2]);
+            }
+        }
+
+        if (!tags.isEmpty()) {
+            lock.writeLock().lock();
+            try {
+                tags.forEach((courseId, courseTags) ->
+                        apply(courseId, created.get(courseId), statuses.get(courseId) == CourseStatus.PUBLISHED,
+                                courseTags));
+            } finally {
+                lock.writeLock().unlock();
+            }
+            log.debug("Course tag index refreshed {} course(s)", tags.size());
+        }
+        lastRefresh = startedAt;
+    }
+
+    /**
+     * Re-indexes a course once the current transaction commits. Call after any
+     * change to a course's tags or status.
+     */
+    public void update(Course course) {
+        UUID courseId = course.getId();
+        LocalDateTime createdAt = course.getCreatedAt();
+        boolean published = course.getStatus() == CourseStatus.PUBLISHED;
+        Set<String> tags = new LinkedHashSet<>(course.getTags());
+        TransactionCallbacks.afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                apply(courseId, createdAt, published, tags);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    /**
+     * Published courses carrying all (or any) of the given tags. The returned
+     * bitmap is a private copy.
+     */
+    public RoaringBitmap match(Collection<String> tags, Match match) {
+        lock.readLock().lock();
+        try {
+            RoaringBitmap result = null;
+            for (String tag : tags) {
+                RoaringBitmap posting = postings.get(tag);
+                if (posting == null) {
+                    if (match == Match.ALL) {
+                        return new RoaringBitmap();
+                    }
+                    continue;
+                }
+                if (result == null) {
+                    result = posting.clone();
+                } else if (match == Match.ALL) {
+                    result.and(posting);
+                } else {
+                    result.or(posting);
+                }
+            }
+            return result != null ? result : new RoaringBitmap();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * A page of the matching courses, newest first by creation time. Ties are
+     * broken by id so every instance returns the same page.
+     */
+    public List<UUID> newestFirst(RoaringBitmap matches, long offset, int limit) {
+        lock.readLock().lock();
+        try {
+            List<Integer> sorted = new ArrayList<>(matches.getCardinality());
+            matches.forEach((int ordinal) -> sorted.add(ordinal));
+            sorted.sort(Comparator.comparing((Integer ordinal) -> createdAts.get(ordinal),
+                            Comparator.nullsFirst(Comparator.<LocalDateTime>naturalOrder()))
+                    .thenComparing(ordinal -> courseIds.get(ordinal))
+                    .reversed());
+
+            List<UUID> page = new ArrayList<>(limit);
+            for (long i = offset; i < sorted.size() && page.size() < limit; i++) {
+                page.add(courseIds.get(sorted.get((int) i)));
+            }
+            return page;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<String> tags() {
+        lock.readLock().lock();
+        try {
+            List<String> tags = new ArrayList<>(postings.keySet());
+            tags.sort(Comparator.naturalOrder());
+            return tags;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Per-tag course counts, most used first. When {@code within} is given the
+     * counts are restricted to those courses, which yields facets for a filtered listing.
+     */
+    public Map<String, Integer> counts(RoaringBitmap within) {
+        List<Map.Entry<String, Integer>> counts = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            postings.forEach((tag, posting) -> {
+                int count = within != null
+                        ? RoaringBitmap.andCardinality(posting, within)
+                        : posting.getCardinality();
+                if (count > 0) {
+                    counts.add(Map.entry(tag, count));
+                }
+            });
+        } finally {
+            lock.readLock().unlock();
+        }
+        counts.sort(Map.Entry.<String, Integer>comparingByValue().reversed()
+                .thenComparing(Map.Entry.comparingByKey()));
+
+        Map<String, Integer> result = new LinkedHashMap<>();
+        counts.forEach(entry -> result.put(entry.getKey(), entry.getValue()));
+        return result;
+    }
+
+    // Moves the course's ordinal between postings; build, refresh and update call it under the write lock
+    private void apply(UUID courseId, LocalDateTime createdAt, boolean published, Set<String> tags) {
+        Integer existing = ordinals.get(courseId);
+        if (existing == null && (!published || tags.isEmpty())) {
+            return;
+        }
+        int ordinal = existing != null ? existing : assignOrdinal(courseId, createdAt);
+
+        Set<String> previous = tagsByOrdinal.remove(ordinal);
+        if (previous != null) {
+            for (String tag : previous) {
+                RoaringBitmap posting = postings.get(tag);
+                posting.remove(ordinal);
+                if (posting.isEmpty()) {
+                    postings.remove(tag);
+                }
+            }
+        }
+
+        if (published && !tags.isEmpty()) {
+            tagsByOrdinal.put(ordinal, Set.copyOf(tags));
+            tags.forEach(tag -> postings.computeIfAbsent(tag, t -> new RoaringBitmap()).add(ordinal));
+        }
+    }
+
+    private int assignOrdinal(UUID courseId, LocalDateTime createdAt) {
+        int ordinal = courseIds.size();
+        courseIds.add(courseId);
+        createdAts.add(createdAt);
+        ordinals.put(courseId, ordinal);
+        return ordinal;
+    }
+
+    private static Map<UUID, Set<String>> groupTags(List<Object[]> rows) {
+        Map<UUID, Set<String>> tags = new LinkedHashMap<>();
+        for (Object[] row : rows) {
+            tags.computeIfAbsent((UUID) row[0], id -> new LinkedHashSet<>()).add((String) row[1]);
+        }
+        return tags;
+    }
+}
@@ -0,0 +1,114 @@
+package com.lms.course.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.LongAdder;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class EnrollmentCounter {
+
+    private static final String FLUSH_SQL = "UPDATE courses " +
+            "SET enrollment_count = GREATEST(COALESCE(enrollment_count, 0) + ?, 0) WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final CacheManager cacheManager;
+
+    private final Map<UUID, LongAdder> pending = new ConcurrentHashMap<>();
+
+    private final Deque<Runnable> flushCallbacks = new ConcurrentLinkedDeque<>();
+
+    /**
+     * Buffers a delta and runs {@code onFlushed} once a flush has written it.
+     * Callbacks run in the order they were added, including those for zero or
+     * unattributed deltas, so Kafka offsets acknowledged from them stay in order.
+     */
+    public void add(UUID courseId, long delta, Runnable onFlushed) {
+        if (courseId != null && delta != 0) {
+            add(courseId, delta);
+        }
+        flushCallbacks.add(onFlushed);
+    }
+
+    private void add(UUID courseId, long delta) {
+        pending.computeIfAbsent(courseId, id -> new LongAdder()).add(delta);
+    }
+
+    public long pendingDelta(UUID courseId) {
+        LongAdder adder = pending.get(courseId);
+        return adder != null ? adder.sum() : 0;
+    }
+
+    @PreDestroy
+    @Scheduled(fixedDelayString = "${lms.course.enrollment-counter.flush-interval-ms:5000}")
+    public synchronized void flush() {
+        // Taken before the deltas are summed, so every delta behind these callbacks is in this flush
+        List<Runnable> callbacks = new ArrayList<>();
+        for (Runnable callback; (callback = flushCallbacks.poll()) != null; ) {
+            callbacks.add(callback);
+        }
+
+        List<UUID> courseIds = new ArrayList<>();
+        List<Object[]> batch = new ArrayList<>();
+
+        pending.forEach((courseId, adder) -> {
+            long delta = adder.sum();
+            if (delta != 0) {
+                // Subtract rather than reset so increments racing with the flush are kept
+                adder.add(-delta);
+                courseIds.add(courseId);
+                batch.add(new Object[]{delta, courseId});
+            }
+        });
+
+        if (!batch.isEmpty()) {
+            try {
+                jdbcTemplate.batchUpdate(FLUSH_SQL, batch);
+            } catch (RuntimeException e) {
+                batch.forEach(args -> add((UUID) args[1], (long) args[0]));
+                for (int i = callbacks.size() - 1; i >= 0; i--) {
+                    flushCallbacks.addFirst(callbacks.get(i));
+                }
+                log.error("Failed to flush enrollment counters for {} course(s), will retry", batch.size(), e);
+                return;
+            }
+            evict(courseIds);
+            log.debug("Flushed enrollment counters for {} course(s)", batch.size());
+        }
+
+        callbacks.forEach(this::runCallback);
+    }
+
+    private void runCallback(Runnable callback) {
+        try {
+            callback.run();
+        } catch (RuntimeException e) {
+            log.warn("Enrollment counter flush callback failed: {}", e.getMessage());
+        }
+    }
+
+    // Both caches carry the enrollment count
+    private void evict(List<UUID> courseIds) {
+        for (String cacheName : List.of("courses", CourseSnapshotService.CACHE_NAME)) {
+            Cache cache = cacheManager.getCache(cacheName);
+            if (cache != null) {
+                courseIds.forEach(cache::evict);
+            }
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.lms.course.service;
 
 import com.lms.common.dto.LessonDto;
+import com.lms.common.exception.BadRequestException;
 import com.lms.common.exception.ForbiddenException;
 import com.lms.common.exception.ResourceNotFoundException;
 import com.lms.course.dto.CreateLessonRequest;
@@ -9,6 +10,7 @@ import com.lms.course.entity.Lesson;
 import com.lms.course.entity.Module;
 import com.lms.course.mapper.LessonMapper;
 import com.lms.course.repository.CourseRepository;
+import com.lms.course.repository.CurriculumOrderRepository;
 import com.lms.course.repository.LessonRepository;
 import com.lms.course.repository.ModuleRepository;
 import lombok.RequiredArgsConstructor;
@@ -17,6 +19,7 @@ import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.HashSet;
 import java.util.List;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -29,6 +32,7 @@ public class LessonService {
     private final LessonRepository lessonRepository;
     private final ModuleRepository moduleRepository;
     private final CourseRepository courseRepository;
+    private final CurriculumOrderRepository curriculumOrderRepository;
     private final LessonMapper lessonMapper;
 
     @Transactional(readOnly = true)
@@ -46,7 +50,7 @@ public class LessonService {
     }
 
     @Transactional
-    @CacheEvict(value = "courses", key = "#result.moduleId", condition = "#result != null")
+    @CacheEvict(value = {"courses", CourseOutlineService.CACHE_NAME, CourseSnapshotService.CACHE_NAME}, key = "#courseId")
     public LessonDto createLesson(UUID courseId, UUID moduleId, CreateLessonRequest request, 
                                    UUID requesterId, boolean isAdmin) {
         Course course = courseRepository.findById(courseId)
@@ -80,12 +84,14 @@ public class LessonService {
                 .build();
 
         lesson = lessonRepository.save(lesson);
+        courseRepository.adjustCurriculumStats(courseId, 1, durationOf(lesson));
         log.info("Lesson created: {} for module {}", lesson.getTitle(), moduleId);
 
         return lessonMapper.toDto(lesson);
     }
 
     @Transactional
+    @CacheEvict(value = {"courses", CourseOutlineService.CACHE_NAME, CourseSnapshotService.CACHE_NAME}, key = "#courseId")
     public LessonDto updateLesson(UUID courseId, UUID moduleId, UUID lessonId, CreateLessonRequest request,
                                    UUID requesterId, boolean isAdmin) {
         Course course = courseRepository.findById(courseId)
@@ -98,6 +104,7 @@ public class LessonService {
 
         Lesson lesson = lessonRepository.findByModuleIdAndId(moduleId, lessonId)
                 .orElseThrow(() -> new ResourceNotFoundException("Lesson", "id", lessonId));
+        int previousDuration = durationOf(lesson);
 
         if (request.getTitle() != null) {
             lesson.setTitle(request.getTitle());
@@ -131,12 +138,17 @@ public class LessonService {
         }
 
         lesson = lessonRepository.save(lesson);
+        int durationDelta = durationOf(lesson) - previousDuration;
+        if (durationDelta != 0) {
+            courseRepository.adjustCurriculumStats(courseId, 0, durationDelta);
+        }
         log.info("Lesson updated: {} in module {}", lesson.getTitle(), moduleId);
 
         return lessonMapper.toDto(lesson);
     }
 
     @Transactional
+    @CacheEvict(value = {"courses", CourseOutlineService.CACHE_NAME, CourseSnapshotService.CACHE_NAME}, key = "#courseId")
     public void deleteLesson(UUID courseId, UUID moduleId, UUID lessonId, UUID requesterId, boolean isAdmin) {
         Course course = courseRepository.findById(courseId)
                 .orElseThrow(() -> new ResourceNotFoundException("Course", "id", courseId));
@@ -150,13 +162,43 @@ public class LessonService {
                 .orElseThrow(() -> new ResourceNotFoundException("Lesson", "id", lessonId));
 
         lessonRepository.delete(lesson);
+        courseRepository.adjustCurriculumStats(courseId, -1, -durationOf(lesson));
         log.info("Lesson deleted: {} from module {}", lessonId, moduleId);
     }
 
+    @Transactional
+    @CacheEvict(value = {"courses", CourseOutlineService.CACHE_NAME, CourseSnapshotService.CACHE_NAME}, key = "#courseId")
+    public void reorderLessons(UUID courseId, UUID moduleId, List<UUID> lessonIds, UUID requesterId, boolean isAdmin) {
+        Course course = courseRepository.findById(courseId)
+                .orElseThrow(() -> new ResourceNotFoundException("Course", "id", courseId));
+
+        // Check authorization
+        if (!isAdmin && !course.getInstructorId().equals(requesterId)) {
+            throw new ForbiddenException("You don't have permission to reorder lessons in this course");
+        }
+
+        if (lessonIds.isEmpty()) {
+            return;
+        }
+        if (new HashSet<>(lessonIds).size() != lessonIds.size()) {
+            throw new BadRequestException("Lesson ids must not contain duplicates");
+        }
+        if (curriculumOrderRepository.countLessonsInModule(courseId, moduleId, lessonIds) != lessonIds.size()) {
+            throw new BadRequestException("All lessons must belong to module " + moduleId);
+        }
+
+        curriculumOrderRepository.reorderLessons(moduleId, lessonIds);
+        log.info("Lessons reordered for module {} in course {}", moduleId, courseId);
+    }
+
     @Transactional(readOnly = true)
     public List<LessonDto> getFreeLessons(UUID courseId) {
         return lessonRepository.findFreeLessonsByCourseId(courseId).stream()
                 .map(lessonMapper::toDto)
                 .collect(Collectors.toList());
     }
+
+    private int durationOf(Lesson lesson) {
+        return lesson.getDurationMinutes() != null ? lesson.getDurationMinutes() : 0;
+    }
 }
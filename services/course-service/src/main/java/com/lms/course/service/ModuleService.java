@@ -1,6 +1,7 @@
 package com.lms.course.service;
 
 import com.lms.common.dto.ModuleDto;
+import com.lms.common.exception.BadRequestException;
 import com.lms.common.exception.ForbiddenException;
 import com.lms.common.exception.ResourceNotFoundException;
 import com.lms.course.dto.CreateModuleRequest;
@@ -8,6 +9,8 @@ import com.lms.course.entity.Course;
 import com.lms.course.entity.Module;
 import com.lms.course.mapper.ModuleMapper;
 import com.lms.course.repository.CourseRepository;
+import com.lms.course.repository.CurriculumOrderRepository;
+import com.lms.course.repository.LessonRepository;
 import com.lms.course.repository.ModuleRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -15,6 +18,7 @@ import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.HashSet;
 import java.util.List;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -26,6 +30,8 @@ public class ModuleService {
 
     private final ModuleRepository moduleRepository;
     private final CourseRepository courseRepository;
+    private final LessonRepository lessonRepository;
+    private final CurriculumOrderRepository curriculumOrderRepository;
     private final ModuleMapper moduleMapper;
 
     @Transactional(readOnly = true)
@@ -43,7 +49,7 @@ public class ModuleService {
     }
 
     @Transactional
-    @CacheEvict(value = "courses", key = "#courseId")
+    @CacheEvict(value = {"courses", CourseOutlineService.CACHE_NAME, CourseSnapshotService.CACHE_NAME}, key = "#courseId")
     public ModuleDto createModule(UUID courseId, CreateModuleRequest request, UUID requesterId, boolean isAdmin) {
         Course course = courseRepository.findById(courseId)
                 .orElseThrow(() -> new ResourceNotFoundException("Course", "id", courseId));
@@ -73,7 +79,7 @@ public class ModuleService {
     }
 
     @Transactional
-    @CacheEvict(value = "courses", key = "#courseId")
+    @CacheEvict(value = {"courses", CourseOutlineService.CACHE_NAME, CourseSnapshotService.CACHE_NAME}, key = "#courseId")
     public ModuleDto updateModule(UUID courseId, UUID moduleId, CreateModuleRequest request, 
                                    UUID requesterId, boolean isAdmin) {
         Course course = courseRepository.findById(courseId)
@@ -107,7 +113,7 @@ public class ModuleService {
     }
 
     @Transactional
-    @CacheEvict(value = "courses", key = "#courseId")
+    @CacheEvict(value = {"courses", CourseOutlineService.CACHE_NAME, CourseSnapshotService.CACHE_NAME}, key = "#courseId")
     public void deleteModule(UUID courseId, UUID moduleId, UUID requesterId, boolean isAdmin) {
         Course course = courseRepository.findById(courseId)
                 .orElseThrow(() -> new ResourceNotFoundException("Course", "id", courseId));
@@ -120,12 +126,16 @@ public class ModuleService {
         Module module = moduleRepository.findByCourseIdAndId(courseId, moduleId)
                 .orElseThrow(() -> new ResourceNotFoundException("Module", "id", moduleId));
 
+        int lessonCount = (int) lessonRepository.countByModuleId(moduleId);
+        int durationMinutes = (int) lessonRepository.sumDurationMinutesByModuleId(moduleId);
+
         moduleRepository.delete(module);
+        courseRepository.adjustCurriculumStats(courseId, -lessonCount, -durationMinutes);
         log.info("Module deleted: {} from course {}", moduleId, courseId);
     }
 
     @Transactional
-    @CacheEvict(value = "courses", key = "#courseId")
+    @CacheEvict(value = {"courses", CourseOutlineService.CACHE_NAME, CourseSnapshotService.CACHE_NAME}, key = "#courseId")
     public void reorderModules(UUID courseId, List<UUID> moduleIds, UUID requesterId, boolean isAdmin) {
         Course course = courseRepository.findById(courseId)
                 .orElseThrow(() -> new ResourceNotFoundException("Course", "id", courseId));
@@ -135,14 +145,17 @@ public class ModuleService {
             throw new ForbiddenException("You don't have permission to reorder modules in this course");
         }
 
-        for (int i = 0; i < moduleIds.size(); i++) {
-            final UUID moduleId = moduleIds.get(i);
-            final int orderIndex = i + 1;
-            Module module = moduleRepository.findByCourseIdAndId(courseId, moduleId)
-                    .orElseThrow(() -> new ResourceNotFoundException("Module", "id", moduleId));
-            module.setOrderIndex(orderIndex);
-            moduleRepository.save(module);
+        if (moduleIds.isEmpty()) {
+            return;
+        }
+        if (new HashSet<>(moduleIds).size() != moduleIds.size()) {
+            throw new BadRequestException("Module ids must not contain duplicates");
         }
+        if (curriculumOrderRepository.countModulesInCourse(courseId, moduleIds) != moduleIds.size()) {
+            throw new BadRequestException("All modules must belong to course " + courseId);
+        }
+
+        curriculumOrderRepository.reorderModules(courseId, moduleIds);
 
         log.info("Modules reordered for course {}", courseId);
     }
@@ -0,0 +1,182 @@
+package com.lms.course.service;
+
+import com.lms.course.repository.CourseRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.zset.Aggregate;
+import org.springframework.data.redis.connection.zset.Weights;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Popularity leaderboard of published courses kept in Redis sorted sets.
+ * The ranking score is the enrollment count plus a weighted, exponentially
+ * decaying activity score, so top-N reads are a single ZREVRANGE.
+ *
+ * <ul>
+ *   <li>{@code enrollments} - enrollment count per published course, re-read from the database on every
+ *   rebuild; membership defines what is ranked</li>
+ *   <li>{@code activity} - recent views and completions, halved every half-life</li>
+ *   <li>{@code ranking} - enrollments + weight * activity, rebuilt on a schedule and bumped incrementally</li>
+ * </ul>
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PopularityRanking {
+
+    private static final String ENROLLMENTS_KEY = "lms:popularity:enrollments";
+    private static final String ACTIVITY_KEY = "lms:popularity:activity";
+    private static final String RANKING_KEY = "lms:popularity:ranking";
+    private static final String UNION_KEY_PREFIX = "lms:popularity:union:";
+    private static final String STAGING_KEY_PREFIX = "lms:popularity:staging:";
+    private static final String DECAY_LOCK_KEY = "lms:popularity:decay-lock";
+
+    // Activity scores below this are dropped after decay
+    private static final double ACTIVITY_FLOOR = 0.01;
+
+    private final StringRedisTemplate redisTemplate;
+    private final CourseRepository courseRepository;
+
+    // Per instance, so concurrent rebuilds on other instances can't clobber the intermediate sets
+    private final String instanceId = UUID.randomUUID().toString();
+    private final String unionKey = UNION_KEY_PREFIX + instanceId;
+    private final String stagingKey = STAGING_KEY_PREFIX + instanceId;
+
+    @Value("${lms.course.popularity.activity-weight:0.1}")
+    private double activityWeight;
+
+    @Value("${lms.course.popularity.half-life:PT24H}")
+    private Duration halfLife;
+
+    @Value("${lms.course.popularity.decay-interval:PT1H}")
+    private Duration decayInterval;
+
+    @PostConstruct
+    public void seed() {
+        safely("seed", this::rebuild);
+    }
+
+    /**
+     * Most popular published course ids, best first. Empty when the ranking is
+     * unavailable so callers can fall back to the database.
+     */
+    public List<UUID> top(int limit) {
+        try {
+            Set<String> members = redisTemplate.opsForZSet().reverseRange(RANKING_KEY, 0, limit - 1L);
+            if (members == null) {
+                return List.of();
+            }
+            return members.stream().map(UUID::fromString).collect(Collectors.toList());
+        } catch (RuntimeException e) {
+            log.warn("Popularity ranking unavailable: {}", e.getMessage());
+            return List.of();
+        }
+    }
+
+    public void recordEnrollment(UUID courseId, long delta) {
+        safely("record enrollment", () -> {
+            String member = courseId.toString();
+            ZSetOperations<String, String> zSet = redisTemplate.opsForZSet();
+            if (zSet.score(ENROLLMENTS_KEY, member) == null) {
+                // Only published courses are ranked
+                return;
+            }
+            zSet.incrementScore(ENROLLMENTS_KEY, member, delta);
+            zSet.incrementScore(RANKING_KEY, member, delta);
+        });
+    }
+
+    public void recordActivity(UUID courseId, double weight) {
+        // Picked up by the next rebuild; non-published courses are filtered out there
+        safely("record activity", () ->
+                redisTemplate.opsForZSet().incrementScore(ACTIVITY_KEY, courseId.toString(), weight));
+    }
+
+    public void published(UUID courseId, int enrollmentCount) {
+        safely("add course", () -> {
+            redisTemplate.opsForZSet().add(ENROLLMENTS_KEY, courseId.toString(), enrollmentCount);
+            redisTemplate.opsForZSet().addIfAbsent(RANKING_KEY, courseId.toString(), enrollmentCount);
+        });
+    }
+
+    public void unpublished(UUID courseId) {
+        safely("remove course", () -> {
+            String member = courseId.toString();
+            redisTemplate.opsForZSet().remove(ENROLLMENTS_KEY, member);
+            redisTemplate.opsForZSet().remove(ACTIVITY_KEY, member);
+            redisTemplate.opsForZSet().remove(RANKING_KEY, member);
+        });
+    }
+
+    /**
+     * Recomputes the ranking from its two inputs. The enrollments set is
+     * replaced from the database first, which discards increments lost to Redis
+     * errors or double-counted on redelivery. Intersecting with it drops
+     * activity recorded for courses that aren't published.
+     */
+    @Scheduled(fixedDelayString = "${lms.course.popularity.rebuild-interval-ms:60000}")
+    public void rebuild() {
+        reloadEnrollments();
+        ZSetOperations<String, String> zSet = redisTemplate.opsForZSet();
+        zSet.unionAndStore(ENROLLMENTS_KEY, List.of(ACTIVITY_KEY), unionKey,
+                Aggregate.SUM, Weights.of(1, activityWeight));
+        zSet.intersectAndStore(unionKey, List.of(ENROLLMENTS_KEY), RANKING_KEY,
+                Aggregate.SUM, Weights.of(1, 0));
+        redisTemplate.delete(unionKey);
+    }
+
+    private void reloadEnrollments() {
+        Set<ZSetOperations.TypedTuple<String>> tuples = new HashSet<>();
+        for (Object[] row : courseRepository.findPublishedEnrollmentCounts()) {
+            Integer count = (Integer) row[1];
+            tuples.add(ZSetOperations.TypedTuple.of(row[0].toString(), count != null ? count.doubleValue() : 0.0));
+        }
+        if (tuples.isEmpty()) {
+            redisTemplate.delete(ENROLLMENTS_KEY);
+            return;
+        }
+        // Built aside and renamed over the live set so readers never see it half-filled
+        redisTemplate.delete(stagingKey);
+        redisTemplate.opsForZSet().add(stagingKey, tuples);
+        redisTemplate.rename(stagingKey, ENROLLMENTS_KEY);
+    }
+
+    /**
+     * Applies one decay step to activity scores. Every instance schedules this,
+     * but the lock makes only one of them decay per interval.
+     */
+    @Scheduled(fixedDelayString = "${lms.course.popularity.decay-interval:PT1H}")
+    public void decay() {
+        Boolean acquired = redisTemplate.opsForValue()
+                .setIfAbsent(DECAY_LOCK_KEY, "1", decayInterval.minusSeconds(1));
+        if (!Boolean.TRUE.equals(acquired)) {
+            return;
+        }
+        double factor = Math.pow(0.5, (double) decayInterval.toMillis() / halfLife.toMillis());
+        ZSetOperations<String, String> zSet = redisTemplate.opsForZSet();
+        zSet.unionAndStore(ACTIVITY_KEY, List.of(), ACTIVITY_KEY, Aggregate.SUM, Weights.of(factor));
+        zSet.removeRangeByScore(ACTIVITY_KEY, Double.NEGATIVE_INFINITY, ACTIVITY_FLOOR);
+        log.debug("Popularity activity decayed by {}", factor);
+    }
+
+    // The ranking is derived data; Redis hiccups must not fail the write that triggered the update
+    private static void safely(String action, Runnable update) {
+        try {
+            update.run();
+        } catch (RuntimeException e) {
+            log.warn("Popularity ranking failed to {}: {}", action, e.getMessage());
+        }
+    }
+}
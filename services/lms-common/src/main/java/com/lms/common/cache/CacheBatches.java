@@ -0,0 +1,66 @@
+package com.lms.common.cache;
+
+import org.springframework.cache.Cache;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Read-through multi-get over a Spring {@link Cache}. With a {@link TwoLevelCache}
+ * hits come from L1 or one Redis MGET and all misses are loaded with a single
+ * call to the loader; other caches fall back to per-key lookups.
+ */
+public final class CacheBatches {
+
+    private CacheBatches() {
+    }
+
+    /**
+     * Returns the values for {@code keys} in request order. Duplicate keys are
+     * returned once and keys the loader can't find are left out.
+     *
+     * @param loader loads the missing keys in one go, e.g. with {@code findAllById}
+     */
+    @SuppressWarnings("unchecked")
+    public static <K, V> List<V> getAll(Cache cache, Collection<K> keys, Function<Collection<K>, Map<K, V>> loader) {
+        Set<K> distinct = new LinkedHashSet<>(keys);
+        Map<K, V> values = new HashMap<>();
+
+        if (cache instanceof TwoLevelCache twoLevelCache) {
+            twoLevelCache.getAll(distinct).forEach((key, value) -> values.put((K) key, (V) value));
+        } else if (cache != null) {
+            for (K key : distinct) {
+                Cache.ValueWrapper wrapper = cache.get(key);
+                if (wrapper != null && wrapper.get() != null) {
+                    values.put(key, (V) wrapper.get());
+                }
+            }
+        }
+
+        List<K> missing = distinct.stream().filter(key -> !values.containsKey(key)).toList();
+        if (!missing.isEmpty()) {
+            Map<K, V> loaded = loader.apply(missing);
+            if (cache instanceof TwoLevelCache twoLevelCache) {
+                twoLevelCache.putAll(loaded);
+            } else if (cache != null) {
+                loaded.forEach(cache::put);
+            }
+            values.putAll(loaded);
+        }
+
+        List<V> result = new ArrayList<>(distinct.size());
+        for (K key : distinct) {
+            V value = values.get(key);
+            if (value != null) {
+                result.add(value);
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,34 @@
+package com.lms.common.cache;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Cached value plus the metadata needed for probabilistic early refresh (XFetch).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheEnvelope {
+
+    private Object value;
+    private long expiresAt;
+    private long computeMillis;
+
+    @JsonIgnore
+    public boolean isExpired() {
+        return System.currentTimeMillis() >= expiresAt;
+    }
+
+    public boolean shouldRefreshEarly(double beta) {
+        if (beta <= 0) {
+            return isExpired();
+        }
+        double gap = -computeMillis * beta * Math.log(1.0 - ThreadLocalRandom.current().nextDouble());
+        return System.currentTimeMillis() + gap >= expiresAt;
+    }
+}
@@ -0,0 +1,315 @@
+package com.lms.common.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.util.ByteUtils;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+
+/**
+ * Caffeine L1 in front of a Redis L2. Loads through {@link #get(Object, Callable)}
+ * (i.e. {@code @Cacheable(sync = true)}) are coalesced per key and refreshed
+ * probabilistically before the remote TTL runs out.
+ */
+@Slf4j
+public class TwoLevelCache implements Cache {
+
+    private final String name;
+    private final com.github.benmanes.caffeine.cache.Cache<String, CacheEnvelope> local;
+    private final Cache remote;
+    private final Duration remoteTtl;
+    private final TwoLevelCacheProperties.Spec spec;
+    private final TwoLevelCacheManager manager;
+    private final Executor refreshExecutor;
+    private final ConcurrentMap<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+    private final Counter localHits;
+    private final Counter localMisses;
+    private final Counter remoteHits;
+    private final Counter remoteMisses;
+    private final Counter loads;
+    private final Counter coalescedLoads;
+    private final Counter earlyRefreshes;
+
+    public TwoLevelCache(String name, com.github.benmanes.caffeine.cache.Cache<String, CacheEnvelope> local,
+                         Cache remote, Duration remoteTtl, TwoLevelCacheProperties.Spec spec,
+                         TwoLevelCacheManager manager, Executor refreshExecutor, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.local = local;
+        this.remote = remote;
+        this.remoteTtl = remoteTtl;
+        this.spec = spec;
+        this.manager = manager;
+        this.refreshExecutor = refreshExecutor;
+        this.localHits = counter(meterRegistry, "lms.cache.gets", "tier", "local", "result", "hit");
+        this.localMisses = counter(meterRegistry, "lms.cache.gets", "tier", "local", "result", "miss");
+        this.remoteHits = counter(meterRegistry, "lms.cache.gets", "tier", "remote", "result", "hit");
+        this.remoteMisses = counter(meterRegistry, "lms.cache.gets", "tier", "remote", "result", "miss");
+        this.loads = counter(meterRegistry, "lms.cache.loads", "outcome", "loaded");
+        this.coalescedLoads = counter(meterRegistry, "lms.cache.loads", "outcome", "coalesced");
+        this.earlyRefreshes = counter(meterRegistry, "lms.cache.loads", "outcome", "early_refresh");
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return remote.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        CacheEnvelope envelope = lookup(key);
+        return envelope != null && !envelope.isExpired() ? new SimpleValueWrapper(envelope.getValue()) : null;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper wrapper = get(key);
+        Object value = wrapper != null ? wrapper.get() : null;
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException("Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        CacheEnvelope envelope = lookup(key);
+        if (envelope == null || envelope.isExpired()) {
+            return (T) load(key, valueLoader);
+        }
+        if (!envelope.shouldRefreshEarly(spec.getEarlyRefreshBeta())) {
+            return (T) envelope.getValue();
+        }
+
+        earlyRefreshes.increment();
+        if (spec.isStaleWhileRevalidate()) {
+            if (!inFlight.containsKey(localKey(key))) {
+                refreshExecutor.execute(() -> {
+                    try {
+                        load(key, valueLoader);
+                    } catch (RuntimeException e) {
+                        log.warn("Background refresh of {}::{} failed: {}", name, key, e.getMessage());
+                    }
+                });
+            }
+            return (T) envelope.getValue();
+        }
+        return (T) load(key, valueLoader);
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        store(key, value, 0);
+    }
+
+    @Override
+    public void evict(Object key) {
+        remote.evict(key);
+        local.invalidate(localKey(key));
+        manager.publishEvict(name, localKey(key));
+    }
+
+    @Override
+    public void clear() {
+        remote.clear();
+        local.invalidateAll();
+        manager.publishClear(name);
+    }
+
+    /**
+     * Looks up several keys at once: L1 first, then a single MGET against Redis
+     * for whatever L1 doesn't hold. Returns only the keys that were found and
+     * not yet expired; remote hits are promoted into L1.
+     */
+    public Map<Object, Object> getAll(Collection<?> keys) {
+        Map<Object, Object> found = new HashMap<>();
+        List<Object> remoteKeys = new ArrayList<>();
+        for (Object key : keys) {
+            CacheEnvelope envelope = local.getIfPresent(localKey(key));
+            if (envelope != null && !envelope.isExpired()) {
+                localHits.increment();
+                found.put(key, envelope.getValue());
+            } else {
+                localMisses.increment();
+                remoteKeys.add(key);
+            }
+        }
+        if (remoteKeys.isEmpty()) {
+            return found;
+        }
+
+        if (!(remote instanceof RedisCache redisCache)) {
+            remoteKeys.forEach(key -> {
+                ValueWrapper wrapper = get(key);
+                if (wrapper != null) {
+                    found.put(key, wrapper.get());
+                }
+            });
+            return found;
+        }
+
+        RedisCacheConfiguration config = redisCache.getCacheConfiguration();
+        List<byte[]> rawKeys = remoteKeys.stream().map(key -> rawKey(config, key)).toList();
+        List<byte[]> rawValues = manager.multiGet(rawKeys);
+        for (int i = 0; i < remoteKeys.size(); i++) {
+            byte[] rawValue = rawValues != null ? rawValues.get(i) : null;
+            if (rawValue == null) {
+                remoteMisses.increment();
+                continue;
+            }
+            remoteHits.increment();
+            CacheEnvelope envelope = toEnvelope(config.getValueSerializationPair().read(ByteBuffer.wrap(rawValue)));
+            if (!envelope.isExpired()) {
+                Object key = remoteKeys.get(i);
+                local.put(localKey(key), envelope);
+                found.put(key, envelope.getValue());
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Stores values loaded for keys {@link #getAll} missed, with one pipelined
+     * round trip. Nothing is broadcast: other nodes had no copy to begin with,
+     * or their copy is still what the database holds.
+     */
+    public void putAll(Map<?, ?> values) {
+        if (values.isEmpty()) {
+            return;
+        }
+        if (!(remote instanceof RedisCache redisCache)) {
+            values.forEach(this::put);
+            return;
+        }
+
+        RedisCacheConfiguration config = redisCache.getCacheConfiguration();
+        long expiresAt = System.currentTimeMillis() + remoteTtl.toMillis();
+        Map<byte[], byte[]> raw = new LinkedHashMap<>();
+        values.forEach((key, value) -> {
+            if (value == null) {
+                return;
+            }
+            CacheEnvelope envelope = new CacheEnvelope(value, expiresAt, 0);
+            raw.put(rawKey(config, key), ByteUtils.getBytes(config.getValueSerializationPair().write(envelope)));
+            local.put(localKey(key), envelope);
+        });
+        manager.multiSet(raw, remoteTtl);
+    }
+
+    void evictLocal(String localKey) {
+        local.invalidate(localKey);
+    }
+
+    void clearLocal() {
+        local.invalidateAll();
+    }
+
+    private CacheEnvelope lookup(Object key) {
+        String localKey = localKey(key);
+        CacheEnvelope envelope = local.getIfPresent(localKey);
+        if (envelope != null) {
+            localHits.increment();
+            return envelope;
+        }
+        localMisses.increment();
+
+        ValueWrapper wrapper = remote.get(key);
+        if (wrapper == null || wrapper.get() == null) {
+            remoteMisses.increment();
+            return null;
+        }
+        remoteHits.increment();
+
+        envelope = toEnvelope(wrapper.get());
+        local.put(localKey, envelope);
+        return envelope;
+    }
+
+    // Entries written before envelopes were introduced are treated as fresh until Redis expires them
+    private static CacheEnvelope toEnvelope(Object stored) {
+        return stored instanceof CacheEnvelope cached ? cached : new CacheEnvelope(stored, Long.MAX_VALUE, 0);
+    }
+
+    // Same key layout RedisCache uses, so batch and single-key access share entries
+    private byte[] rawKey(RedisCacheConfiguration config, Object key) {
+        return ByteUtils.getBytes(config.getKeySerializationPair().write(config.getKeyPrefixFor(name) + key));
+    }
+
+    private Object load(Object key, Callable<?> valueLoader) {
+        String localKey = localKey(key);
+        CompletableFuture<Object> future = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(localKey, future);
+        if (existing != null) {
+            coalescedLoads.increment();
+            try {
+                return existing.join();
+            } catch (CompletionException e) {
+                throw new ValueRetrievalException(key, valueLoader, e.getCause());
+            }
+        }
+
+        try {
+            long start = System.currentTimeMillis();
+            Object value = valueLoader.call();
+            loads.increment();
+            store(key, value, System.currentTimeMillis() - start);
+            future.complete(value);
+            return value;
+        } catch (Exception e) {
+            future.completeExceptionally(e);
+            throw new ValueRetrievalException(key, valueLoader, e);
+        } finally {
+            inFlight.remove(localKey, future);
+        }
+    }
+
+    private void store(Object key, Object value, long computeMillis) {
+        String localKey = localKey(key);
+        if (value == null) {
+            // Null values are not cached remotely; drop any stale copies instead
+            evict(key);
+            return;
+        }
+        CacheEnvelope envelope = new CacheEnvelope(value,
+                System.currentTimeMillis() + remoteTtl.toMillis(), computeMillis);
+        remote.put(key, envelope);
+        local.put(localKey, envelope);
+        manager.publishEvict(name, localKey);
+    }
+
+    private static String localKey(Object key) {
+        return String.valueOf(key);
+    }
+
+    private Counter counter(MeterRegistry meterRegistry, String meterName, String... tags) {
+        return Counter.builder(meterName)
+                .tag("cache", name)
+                .tags(tags)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,139 @@
+package com.lms.common.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.types.Expiration;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * In-process L1 caches in front of a remote (Redis) L2 cache manager. Evictions
+ * are broadcast over Redis pub/sub so every node drops its local copy.
+ */
+@Slf4j
+public class TwoLevelCacheManager implements CacheManager, MessageListener, DisposableBean {
+
+    private static final String SEPARATOR = "|";
+
+    private final CacheManager remote;
+    private final Map<String, Duration> remoteTtls;
+    private final Duration defaultRemoteTtl;
+    private final TwoLevelCacheProperties properties;
+    private final StringRedisTemplate redisTemplate;
+    private final MeterRegistry meterRegistry;
+    private final String nodeId = UUID.randomUUID().toString();
+    private final ConcurrentMap<String, TwoLevelCache> caches = new ConcurrentHashMap<>();
+    private final ExecutorService refreshExecutor;
+
+    public TwoLevelCacheManager(CacheManager remote, Map<String, Duration> remoteTtls, Duration defaultRemoteTtl,
+                                TwoLevelCacheProperties properties, StringRedisTemplate redisTemplate,
+                                MeterRegistry meterRegistry) {
+        this.remote = remote;
+        this.remoteTtls = remoteTtls;
+        this.defaultRemoteTtl = defaultRemoteTtl;
+        this.properties = properties;
+        this.redisTemplate = redisTemplate;
+        this.meterRegistry = meterRegistry;
+        this.refreshExecutor = Executors.newFixedThreadPool(properties.getRefreshThreads(), runnable -> {
+            Thread thread = new Thread(runnable, "cache-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        return caches.computeIfAbsent(name, this::createCache);
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return remote.getCacheNames();
+    }
+
+    private TwoLevelCache createCache(String name) {
+        Cache remoteCache = remote.getCache(name);
+        if (remoteCache == null) {
+            return null;
+        }
+        TwoLevelCacheProperties.Spec spec = properties.specFor(name);
+        return new TwoLevelCache(name,
+                Caffeine.newBuilder()
+                        .maximumSize(spec.getLocalMaximumSize())
+                        .expireAfterWrite(spec.getLocalTtl())
+                        .build(),
+                remoteCache, remoteTtls.getOrDefault(name, defaultRemoteTtl), spec,
+                this, refreshExecutor, meterRegistry);
+    }
+
+    void publishEvict(String cacheName, String key) {
+        publish(nodeId + SEPARATOR + cacheName + SEPARATOR + key);
+    }
+
+    void publishClear(String cacheName) {
+        publish(nodeId + SEPARATOR + cacheName);
+    }
+
+    List<byte[]> multiGet(List<byte[]> keys) {
+        return redisTemplate.execute((RedisCallback<List<byte[]>>) connection ->
+                connection.stringCommands().mGet(keys.toArray(byte[][]::new)));
+    }
+
+    void multiSet(Map<byte[], byte[]> entries, Duration ttl) {
+        // MSET can't carry a TTL, so pipeline one SET EX per entry instead
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            entries.forEach((key, value) -> connection.stringCommands()
+                    .set(key, value, Expiration.from(ttl), RedisStringCommands.SetOption.upsert()));
+            return null;
+        });
+    }
+
+    private void publish(String message) {
+        try {
+            redisTemplate.convertAndSend(properties.getInvalidationChannel(), message);
+        } catch (RuntimeException e) {
+            // Local TTL bounds staleness on other nodes if the broadcast is lost
+            log.warn("Failed to publish cache invalidation: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public void destroy() {
+        refreshExecutor.shutdownNow();
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String[] parts = new String(message.getBody(), StandardCharsets.UTF_8).split("\\|", 3);
+        if (parts.length < 2 || nodeId.equals(parts[0])) {
+            return;
+        }
+        TwoLevelCache cache = caches.get(parts[1]);
+        if (cache == null) {
+            return;
+        }
+        if (parts.length == 3) {
+            cache.evictLocal(parts[2]);
+        } else {
+            cache.clearLocal();
+        }
+    }
+}
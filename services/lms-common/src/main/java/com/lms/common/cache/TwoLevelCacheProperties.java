@@ -0,0 +1,39 @@
+package com.lms.common.cache;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+@Data
+@ConfigurationProperties(prefix = "lms.cache")
+public class TwoLevelCacheProperties {
+
+    private String invalidationChannel = "lms:cache:invalidation";
+
+    private int refreshThreads = 2;
+
+    // Defaults for every cache, overridable per cache name
+    private Spec defaults = new Spec();
+    private Map<String, Spec> caches = new HashMap<>();
+
+    public Spec specFor(String cacheName) {
+        return caches.getOrDefault(cacheName, defaults);
+    }
+
+    @Data
+    public static class Spec {
+        private long localMaximumSize = 10_000;
+        private Duration localTtl = Duration.ofMinutes(1);
+
+        // XFetch beta: higher values refresh earlier, 0 disables early refresh
+        private double earlyRefreshBeta = 1.0;
+
+        // Serve the current value while an early refresh runs in the background. The cached
+        // method is then invoked off the request thread, so it must not rely on the caller's
+        // transaction or security context.
+        private boolean staleWhileRevalidate = false;
+    }
+}
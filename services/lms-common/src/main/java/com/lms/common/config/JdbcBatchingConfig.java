@@ -0,0 +1,53 @@
+package com.lms.common.config;
+
+import com.lms.common.jdbc.JdbcBatchingProperties;
+import com.lms.common.jdbc.JdbcRoundTripListener;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConditionalOnClass(HikariDataSource.class)
+@EnableConfigurationProperties(JdbcBatchingProperties.class)
+public class JdbcBatchingConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer jdbcBatchingHibernatePropertiesCustomizer(
+            JdbcBatchingProperties properties, ObjectProvider<MeterRegistry> meterRegistry) {
+        meterRegistry.ifAvailable(JdbcRoundTripListener::bind);
+        return hibernateProperties -> {
+            hibernateProperties.put(AvailableSettings.AUTO_SESSION_EVENTS_LISTENER, JdbcRoundTripListener.class.getName());
+            if (properties.isEnabled()) {
+                hibernateProperties.put(AvailableSettings.STATEMENT_BATCH_SIZE, properties.getBatchSize());
+                hibernateProperties.put(AvailableSettings.ORDER_INSERTS, true);
+                hibernateProperties.put(AvailableSettings.ORDER_UPDATES, true);
+                hibernateProperties.put(AvailableSettings.BATCH_VERSIONED_DATA, true);
+            }
+        };
+    }
+
+    @Bean
+    public static BeanPostProcessor rewriteBatchedInsertsPostProcessor(ObjectProvider<JdbcBatchingProperties> properties) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof HikariDataSource dataSource
+                        && dataSource.getJdbcUrl() != null
+                        && dataSource.getJdbcUrl().startsWith("jdbc:postgresql:")) {
+                    JdbcBatchingProperties batching = properties.getIfAvailable(JdbcBatchingProperties::new);
+                    if (batching.isEnabled() && batching.isRewriteBatchedInserts()) {
+                        dataSource.addDataSourceProperty("reWriteBatchedInserts", "true");
+                    }
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -38,6 +38,7 @@ public class KafkaConfig {
     public static final String TOPIC_COURSE_EVENTS = "course-events";
     public static final String TOPIC_USER_EVENTS = "user-events";
     public static final String TOPIC_SEARCH_INDEX_UPDATES = "search-index-updates";
+    public static final String TOPIC_ENROLLMENT_EVENTS = "enrollment-events";
 
     @Bean
     public ProducerFactory<String, Object> producerFactory() {
@@ -143,4 +144,12 @@ public class KafkaConfig {
                 .replicas(1)
                 .build();
     }
+
+    @Bean
+    public NewTopic enrollmentEventsTopic() {
+        return TopicBuilder.name(TOPIC_ENROLLMENT_EVENTS)
+                .partitions(3)
+                .replicas(1)
+                .build();
+    }
 }
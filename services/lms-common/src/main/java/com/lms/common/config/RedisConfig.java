@@ -4,8 +4,13 @@ import com.fasterxml.jackson.annotation.JsonTypeInfo;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.jsontype.impl.LaissezFaireSubTypeValidator;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.lms.common.cache.TwoLevelCacheManager;
+import com.lms.common.cache.TwoLevelCacheProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
-import org.springframework.cache.CacheManager;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -13,6 +18,9 @@ import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.cache.RedisCacheManager;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
@@ -24,6 +32,7 @@ import java.util.Map;
 @Configuration
 @EnableCaching
 @ConditionalOnProperty(name = "spring.data.redis.host")
+@EnableConfigurationProperties(TwoLevelCacheProperties.class)
 public class RedisConfig {
 
     @Bean
@@ -51,35 +60,60 @@ public class RedisConfig {
     }
 
     @Bean
-    public CacheManager cacheManager(RedisConnectionFactory connectionFactory) {
+    public TwoLevelCacheManager cacheManager(RedisConnectionFactory connectionFactory,
+                                             TwoLevelCacheProperties cacheProperties,
+                                             ObjectProvider<MeterRegistry> meterRegistry) {
+        Duration defaultTtl = Duration.ofMinutes(15);
         RedisCacheConfiguration defaultConfig = RedisCacheConfiguration.defaultCacheConfig()
-                .entryTtl(Duration.ofMinutes(15))
+                .entryTtl(defaultTtl)
                 .serializeKeysWith(RedisSerializationContext.SerializationPair
                         .fromSerializer(new StringRedisSerializer()))
                 .serializeValuesWith(RedisSerializationContext.SerializationPair
                         .fromSerializer(new GenericJackson2JsonRedisSerializer()))
                 .disableCachingNullValues();
 
-        Map<String, RedisCacheConfiguration> cacheConfigurations = new HashMap<>();
-        
+        Map<String, Duration> cacheTtls = new HashMap<>();
+
         // Session cache - 30 minutes
-        cacheConfigurations.put("sessions", defaultConfig.entryTtl(Duration.ofMinutes(30)));
-        
+        cacheTtls.put("sessions", Duration.ofMinutes(30));
+
         // User cache - 15 minutes
-        cacheConfigurations.put("users", defaultConfig.entryTtl(Duration.ofMinutes(15)));
-        
+        cacheTtls.put("users", Duration.ofMinutes(15));
+
         // Course cache - 1 hour
-        cacheConfigurations.put("courses", defaultConfig.entryTtl(Duration.ofHours(1)));
-        
+        cacheTtls.put("courses", Duration.ofHours(1));
+
+        // Course outline cache - 1 hour
+        cacheTtls.put("course-outlines", Duration.ofHours(1));
+
+        // Published course snapshot cache - 1 hour
+        cacheTtls.put("course-snapshots", Duration.ofHours(1));
+
         // Attendance cache - 30 minutes
-        cacheConfigurations.put("attendance", defaultConfig.entryTtl(Duration.ofMinutes(30)));
-        
-        // Enrollments cache - 30 minutes
-        cacheConfigurations.put("enrollments", defaultConfig.entryTtl(Duration.ofMinutes(30)));
+        cacheTtls.put("attendance", Duration.ofMinutes(30));
+
+        Map<String, RedisCacheConfiguration> cacheConfigurations = new HashMap<>();
+        cacheTtls.forEach((name, ttl) -> cacheConfigurations.put(name, defaultConfig.entryTtl(ttl)));
 
-        return RedisCacheManager.builder(connectionFactory)
+        RedisCacheManager redisCacheManager = RedisCacheManager.builder(connectionFactory)
                 .cacheDefaults(defaultConfig)
                 .withInitialCacheConfigurations(cacheConfigurations)
                 .build();
+        redisCacheManager.afterPropertiesSet();
+
+        return new TwoLevelCacheManager(redisCacheManager, cacheTtls, defaultTtl, cacheProperties,
+                new StringRedisTemplate(connectionFactory),
+                meterRegistry.getIfAvailable(SimpleMeterRegistry::new));
+    }
+
+    @Bean
+    public RedisMessageListenerContainer cacheInvalidationListenerContainer(
+            RedisConnectionFactory connectionFactory,
+            TwoLevelCacheManager cacheManager,
+            TwoLevelCacheProperties cacheProperties) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(cacheManager, new ChannelTopic(cacheProperties.getInvalidationChannel()));
+        return container;
     }
 }
@@ -0,0 +1,35 @@
+package com.lms.common.dto;
+
+import com.lms.common.enums.CourseStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CourseCardDto {
+
+    private UUID id;
+    private String title;
+    private String shortDescription;
+    private String thumbnailUrl;
+    private UUID instructorId;
+    private String instructorName;
+    private CourseStatus status;
+    private BigDecimal price;
+    private Integer durationHours;
+    private String difficulty;
+    private Integer enrollmentCount;
+    private Double averageRating;
+    private Integer totalLessons;
+    private Integer totalDurationMinutes;
+    private LocalDateTime startDate;
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,29 @@
+package com.lms.common.dto;
+
+import com.lms.common.enums.CourseStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Whole curriculum of a course (modules and their lessons) as served to the
+ * course player. Lessons carry listing fields only; transcripts and
+ * additional resources are fetched per lesson.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CourseOutlineDto {
+
+    private UUID id;
+    private String title;
+    private CourseStatus status;
+    private Integer totalLessons;
+    private Integer totalDurationMinutes;
+    private List<ModuleDto> modules;
+}
@@ -0,0 +1,92 @@
+package com.lms.common.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.lms.common.exception.BadRequestException;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Keyset-paginated slice ordered by {@code (createdAt DESC, id DESC)}. Unlike
+ * {@link PagedResponse} it needs no COUNT query and costs the same at any depth;
+ * {@code totalElements} is only populated when explicitly requested.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class CursorPage<T> {
+
+    public static final int MAX_SIZE = 100;
+
+    private List<T> content;
+    private int size;
+    private boolean hasNext;
+    private String nextCursor;
+    private Long totalElements;
+
+    /**
+     * Builds a page from rows fetched with a limit of {@code size + 1}; the extra
+     * row only signals that another page exists.
+     */
+    public static <T> CursorPage<T> of(List<T> rows, int size,
+                                       Function<T, LocalDateTime> createdAt, Function<T, UUID> id,
+                                       Long totalElements) {
+        boolean hasNext = rows.size() > size;
+        List<T> content = hasNext ? rows.subList(0, size) : rows;
+        String nextCursor = null;
+        if (hasNext) {
+            T last = content.get(content.size() - 1);
+            nextCursor = new Cursor(createdAt.apply(last), id.apply(last)).encode();
+        }
+        return CursorPage.<T>builder()
+                .content(content)
+                .size(size)
+                .hasNext(hasNext)
+                .nextCursor(nextCursor)
+                .totalElements(totalElements)
+                .build();
+    }
+
+    public static int boundedSize(int requested) {
+        return Math.min(Math.max(requested, 1), MAX_SIZE);
+    }
+
+    public static <T, S> CursorPage<T> map(CursorPage<S> page, Function<S, T> mapper) {
+        return CursorPage.<T>builder()
+                .content(page.getContent().stream().map(mapper).toList())
+                .size(page.getSize())
+                .hasNext(page.isHasNext())
+                .nextCursor(page.getNextCursor())
+                .totalElements(page.getTotalElements())
+                .build();
+    }
+
+    public record Cursor(LocalDateTime createdAt, UUID id) {
+
+        public String encode() {
+            String raw = createdAt + "|" + id;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        public static Cursor decode(String cursor) {
+            try {
+                String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                int separator = raw.indexOf('|');
+                return new Cursor(LocalDateTime.parse(raw.substring(0, separator)),
+                        UUID.fromString(raw.substring(separator + 1)));
+            } catch (RuntimeException e) {
+                throw new BadRequestException("Invalid cursor");
+            }
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.lms.common.entity;
 
+import com.lms.common.id.GeneratedUuid;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -23,7 +24,7 @@ import java.util.UUID;
 public abstract class BaseEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @GeneratedUuid
     private UUID id;
 
     @CreatedDate
@@ -0,0 +1,33 @@
+package com.lms.common.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.experimental.SuperBuilder;
+
+import java.util.UUID;
+
+/**
+ * Net change in a course's enrollment count. Bulk enrollments send one event
+ * per course with the aggregated delta rather than one per student.
+ */
+@Data
+@SuperBuilder
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(callSuper = true)
+public class EnrollmentCountEvent extends BaseEvent {
+
+    private UUID courseId;
+    private long delta;
+
+    public static EnrollmentCountEvent create(UUID courseId, long delta) {
+        EnrollmentCountEvent event = EnrollmentCountEvent.builder()
+                .courseId(courseId)
+                .delta(delta)
+                .build();
+        event.initializeEvent("ENROLLMENT_COUNT_CHANGED", "user-service");
+        return event;
+    }
+}
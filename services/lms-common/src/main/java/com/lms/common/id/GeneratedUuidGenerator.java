@@ -0,0 +1,40 @@
+package com.lms.common.id;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.hibernate.generator.EventTypeSets;
+import org.hibernate.id.factory.spi.CustomIdGeneratorCreationContext;
+
+import java.lang.reflect.Member;
+import java.util.EnumSet;
+import java.util.UUID;
+
+/**
+ * Generates UUIDv7 ids for entities annotated with {@link TimeOrderedId} and random
+ * v4 ids for everything else.
+ */
+public class GeneratedUuidGenerator implements BeforeExecutionGenerator {
+
+    private static final ClassValue<Boolean> TIME_ORDERED = new ClassValue<>() {
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+            return type.isAnnotationPresent(TimeOrderedId.class);
+        }
+    };
+
+    public GeneratedUuidGenerator(GeneratedUuid config, Member member, CustomIdGeneratorCreationContext context) {
+        // No configuration; the strategy is chosen per entity class
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object owner, Object currentValue,
+                           EventType eventType) {
+        return TIME_ORDERED.get(owner.getClass()) ? UuidV7.generate() : UUID.randomUUID();
+    }
+
+    @Override
+    public EnumSet<EventType> getEventTypes() {
+        return EventTypeSets.INSERT_ONLY;
+    }
+}
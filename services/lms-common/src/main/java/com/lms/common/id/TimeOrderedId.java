@@ -0,0 +1,16 @@
+package com.lms.common.id;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Opts an entity extending {@code BaseEntity} into time-ordered UUIDv7 primary keys,
+ * so inserts append to the right edge of the primary key index instead of landing on
+ * random pages. Entities without it keep random v4 ids.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface TimeOrderedId {
+}
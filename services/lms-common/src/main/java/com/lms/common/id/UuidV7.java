@@ -0,0 +1,35 @@
+package com.lms.common.id;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Time-ordered UUIDv7 (RFC 9562): 48-bit Unix millisecond timestamp, a 12-bit
+ * counter that keeps values strictly increasing within this JVM, and 62 random
+ * bits so that values generated concurrently on other nodes do not collide.
+ */
+public final class UuidV7 {
+
+    private static final int COUNTER_BITS = 12;
+
+    // (timestamp << COUNTER_BITS) | counter of the last value handed out
+    private static final AtomicLong lastState = new AtomicLong();
+
+    private UuidV7() {
+        // Utility class
+    }
+
+    public static UUID generate() {
+        long now = System.currentTimeMillis() << COUNTER_BITS;
+        // If the counter overflows within a millisecond it borrows from the next one,
+        // which keeps ordering monotonic at the cost of running slightly ahead of the clock
+        long state = lastState.updateAndGet(last -> Math.max(now, last + 1));
+
+        long timestamp = state >>> COUNTER_BITS;
+        long counter = state & ((1L << COUNTER_BITS) - 1);
+        long msb = (timestamp << 16) | 0x7000L | counter;
+        long lsb = (ThreadLocalRandom.current().nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(msb, lsb);
+    }
+}
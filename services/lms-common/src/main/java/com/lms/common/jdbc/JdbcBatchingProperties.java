@@ -0,0 +1,15 @@
+package com.lms.common.jdbc;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "lms.jdbc.batching")
+public class JdbcBatchingProperties {
+
+    private boolean enabled = true;
+    private int batchSize = 50;
+
+    // PostgreSQL driver: collapse batched INSERTs into multi-row VALUES statements
+    private boolean rewriteBatchedInserts = true;
+}
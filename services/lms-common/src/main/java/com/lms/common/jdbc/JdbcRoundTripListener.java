@@ -0,0 +1,47 @@
+package com.lms.common.jdbc;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.BaseSessionEventListener;
+
+/**
+ * Records how many JDBC round trips (single statements plus batch executions) each
+ * Hibernate session performed. Hibernate instantiates one listener per session from
+ * its class name, so the meters are bound statically at startup.
+ */
+public class JdbcRoundTripListener extends BaseSessionEventListener {
+
+    private static volatile DistributionSummary statementsPerSession;
+    private static volatile DistributionSummary batchesPerSession;
+
+    private int statements;
+    private int batches;
+
+    public static void bind(MeterRegistry meterRegistry) {
+        statementsPerSession = DistributionSummary.builder("lms.jdbc.session.statements")
+                .description("Non-batched JDBC statements executed per Hibernate session")
+                .register(meterRegistry);
+        batchesPerSession = DistributionSummary.builder("lms.jdbc.session.batches")
+                .description("JDBC batch executions per Hibernate session")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        statements++;
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        batches++;
+    }
+
+    @Override
+    public void end() {
+        if (statementsPerSession == null || statements + batches == 0) {
+            return;
+        }
+        statementsPerSession.record(statements);
+        batchesPerSession.record(batches);
+    }
+}
@@ -1,6 +1,7 @@
 package com.lms.messaging.controller;
 
 import com.lms.common.dto.ApiResponse;
+import com.lms.common.dto.CursorPage;
 import com.lms.common.enums.NotificationType;
 import com.lms.messaging.entity.Notification;
 import com.lms.messaging.service.NotificationService;
@@ -24,6 +25,14 @@ public class NotificationController {
         return ResponseEntity.ok(ApiResponse.success(notificationService.getUserNotifications(UUID.fromString(jwt.getSubject()))));
     }
 
+    @GetMapping("/cursor")
+    public ResponseEntity<ApiResponse<CursorPage<Notification>>> getMyNotificationsCursor(
+            @AuthenticationPrincipal Jwt jwt, @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size, @RequestParam(defaultValue = "false") boolean includeTotal) {
+        return ResponseEntity.ok(ApiResponse.success(notificationService.getUserNotifications(
+                UUID.fromString(jwt.getSubject()), cursor, size, includeTotal)));
+    }
+
     @GetMapping("/user/{userId}")
     public ResponseEntity<ApiResponse<List<Notification>>> getUserNotifications(@PathVariable UUID userId) {
         return ResponseEntity.ok(ApiResponse.success(notificationService.getUserNotifications(userId)));
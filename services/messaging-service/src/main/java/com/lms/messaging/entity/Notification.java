@@ -1,6 +1,7 @@
 package com.lms.messaging.entity;
 
 import com.lms.common.entity.BaseEntity;
+import com.lms.common.id.TimeOrderedId;
 import com.lms.common.enums.NotificationType;
 import jakarta.persistence.*;
 import lombok.*;
@@ -8,7 +9,9 @@ import lombok.experimental.SuperBuilder;
 import java.time.LocalDateTime;
 import java.util.UUID;
 
-@Entity @Table(name = "notifications")
+@TimeOrderedId
+@Entity @Table(name = "notifications", indexes = {
+        @Index(name = "idx_notifications_recipient_keyset", columnList = "recipient_id, created_at, id")})
 @Getter @Setter @SuperBuilder @NoArgsConstructor @AllArgsConstructor
 public class Notification extends BaseEntity {
     @Column(name = "recipient_id", nullable = false) private UUID recipientId;
@@ -4,7 +4,10 @@ import com.lms.messaging.entity.Notification;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 
@@ -14,4 +17,11 @@ public interface NotificationRepository extends JpaRepository<Notification, UUID
     Page<Notification> findByRecipientId(UUID recipientId, Pageable pageable);
     List<Notification> findByRecipientIdAndReadFalse(UUID recipientId);
     long countByRecipientIdAndReadFalse(UUID recipientId);
+    long countByRecipientId(UUID recipientId);
+    @Query("SELECT n FROM Notification n WHERE n.recipientId = :recipientId ORDER BY n.createdAt DESC, n.id DESC")
+    List<Notification> findKeysetByRecipientId(@Param("recipientId") UUID recipientId, Pageable limit);
+    @Query("SELECT n FROM Notification n WHERE n.recipientId = :recipientId AND " +
+            "(n.createdAt < :createdAt OR (n.createdAt = :createdAt AND n.id < :id)) ORDER BY n.createdAt DESC, n.id DESC")
+    List<Notification> findKeysetByRecipientIdAfter(@Param("recipientId") UUID recipientId,
+            @Param("createdAt") LocalDateTime createdAt, @Param("id") UUID id, Pageable limit);
 }
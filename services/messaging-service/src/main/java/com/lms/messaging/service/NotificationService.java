@@ -1,11 +1,14 @@
 package com.lms.messaging.service;
 
+import com.lms.common.dto.CursorPage;
 import com.lms.common.enums.NotificationType;
 import com.lms.common.event.NotificationEvent;
 import com.lms.messaging.entity.Notification;
 import com.lms.messaging.repository.NotificationRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.mail.SimpleMailMessage;
 import org.springframework.mail.javamail.JavaMailSender;
@@ -20,17 +23,21 @@ public class NotificationService {
     private final NotificationRepository notificationRepository;
     private final JavaMailSender mailSender;
 
+    @Transactional
     @KafkaListener(topics = {"notifications", "attendance-events"}, groupId = "messaging-service")
     public void handleNotificationEvent(NotificationEvent event) {
         log.info("Received notification event: {}", event.getEventType());
-        for (UUID recipientId : event.getRecipientIds()) {
-            Notification notification = Notification.builder()
-                    .recipientId(recipientId).type(event.getType()).subject(event.getSubject())
-                    .body(event.getBody()).priority(event.getPriority()).sentAt(LocalDateTime.now()).build();
-            notificationRepository.save(notification);
-            if (event.getType() == NotificationType.EMAIL && event.getRecipientEmail() != null) {
-                sendEmail(event.getRecipientEmail(), event.getSubject(), event.getBody());
-            }
+        LocalDateTime sentAt = LocalDateTime.now();
+        List<Notification> notifications = event.getRecipientIds().stream()
+                .<Notification>map(recipientId -> Notification.builder()
+                        .recipientId(recipientId).type(event.getType()).subject(event.getSubject())
+                        .body(event.getBody()).priority(event.getPriority()).sentAt(sentAt).build())
+                .toList();
+        // One JDBC batch per flush instead of one INSERT round trip per recipient
+        notificationRepository.saveAll(notifications);
+        // The event carries a single address, so it gets one email however many recipients there are
+        if (event.getType() == NotificationType.EMAIL && event.getRecipientEmail() != null && !notifications.isEmpty()) {
+            sendEmail(event.getRecipientEmail(), event.getSubject(), event.getBody());
         }
     }
 
@@ -60,6 +67,21 @@ public class NotificationService {
         return notificationRepository.findByRecipientIdOrderByCreatedAtDesc(userId);
     }
 
+    @Transactional(readOnly = true)
+    public CursorPage<Notification> getUserNotifications(UUID userId, String cursor, int size, boolean includeTotal) {
+        size = CursorPage.boundedSize(size);
+        Pageable limit = PageRequest.of(0, size + 1);
+        List<Notification> rows;
+        if (cursor == null) {
+            rows = notificationRepository.findKeysetByRecipientId(userId, limit);
+        } else {
+            CursorPage.Cursor after = CursorPage.Cursor.decode(cursor);
+            rows = notificationRepository.findKeysetByRecipientIdAfter(userId, after.createdAt(), after.id(), limit);
+        }
+        Long total = includeTotal ? notificationRepository.countByRecipientId(userId) : null;
+        return CursorPage.of(rows, size, Notification::getCreatedAt, Notification::getId, total);
+    }
+
     @Transactional
     public Notification markAsRead(UUID notificationId) {
         Notification n = notificationRepository.findById(notificationId).orElseThrow();
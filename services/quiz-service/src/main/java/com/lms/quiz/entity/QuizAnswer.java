@@ -1,10 +1,12 @@
 package com.lms.quiz.entity;
 
 import com.lms.common.entity.BaseEntity;
+import com.lms.common.id.TimeOrderedId;
 import jakarta.persistence.*;
 import lombok.*;
 import lombok.experimental.SuperBuilder;
 
+@TimeOrderedId
 @Entity @Table(name = "quiz_answers")
 @Getter @Setter @SuperBuilder @NoArgsConstructor @AllArgsConstructor
 public class QuizAnswer extends BaseEntity {
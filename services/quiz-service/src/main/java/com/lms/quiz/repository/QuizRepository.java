@@ -2,8 +2,11 @@ package com.lms.quiz.repository;
 
 import com.lms.quiz.entity.Quiz;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @Repository
@@ -11,4 +14,6 @@ public interface QuizRepository extends JpaRepository<Quiz, UUID> {
     List<Quiz> findByCourseId(UUID courseId);
     List<Quiz> findByCourseIdAndPublishedTrue(UUID courseId);
     List<Quiz> findByInstructorId(UUID instructorId);
+    @Query("SELECT DISTINCT q FROM Quiz q LEFT JOIN FETCH q.questions WHERE q.id = :id")
+    Optional<Quiz> findByIdWithQuestions(@Param("id") UUID id);
 }
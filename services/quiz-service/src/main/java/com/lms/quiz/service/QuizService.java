@@ -50,7 +50,9 @@ public class QuizService {
     public QuizAttempt submitAttempt(UUID attemptId, Map<UUID, String> answers) {
         QuizAttempt attempt = attemptRepository.findById(attemptId)
                 .orElseThrow(() -> new ResourceNotFoundException("Attempt", "id", attemptId));
-        Quiz quiz = attempt.getQuiz();
+        UUID quizId = attempt.getQuiz().getId();
+        Quiz quiz = quizRepository.findByIdWithQuestions(quizId)
+                .orElseThrow(() -> new ResourceNotFoundException("Quiz", "id", quizId));
         for (Question q : quiz.getQuestions()) {
             String ans = answers.get(q.getId());
             boolean correct = isAnswerCorrect(q, ans);
@@ -60,7 +62,9 @@ public class QuizService {
         attempt.setSubmittedAt(LocalDateTime.now());
         attempt.calculateScore(quiz.getPassingScore());
         log.info("Quiz attempt submitted: {} with score {}%", attemptId, attempt.getPercentage());
-        return attemptRepository.save(attempt);
+        // The attempt is managed: answers cascade on flush as one batched INSERT
+        // rather than going through merge, which would copy every new answer
+        return attempt;
     }
 
     private boolean isAnswerCorrect(Question q, String answer) {
@@ -0,0 +1,38 @@
+package com.lms.user.config;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Creates the trigram indexes behind user search. One GIN index per searched
+ * column, on the same {@code lower(...)} expression the queries use, serves
+ * both substring {@code LIKE} and word-similarity matches.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UserSearchSchemaInitializer {
+
+    private static final String CREATE_EXTENSION = "CREATE EXTENSION IF NOT EXISTS pg_trgm";
+
+    private static final String[] SEARCH_COLUMNS = {"username", "email", "first_name", "last_name"};
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // Injected only so the schema update has run before this initializer
+    private final EntityManagerFactory entityManagerFactory;
+
+    @PostConstruct
+    public void initialize() {
+        jdbcTemplate.execute(CREATE_EXTENSION);
+        for (String column : SEARCH_COLUMNS) {
+            jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_users_" + column + "_trgm " +
+                    "ON users USING gin (lower(" + column + ") gin_trgm_ops)");
+        }
+        log.info("User search schema ready");
+    }
+}
@@ -1,22 +1,31 @@
 package com.lms.user.controller;
 
 import com.lms.common.dto.ApiResponse;
+import com.lms.common.dto.CursorPage;
 import com.lms.common.dto.EnrollmentDto;
 import com.lms.common.dto.PagedResponse;
 import com.lms.common.enums.EnrollmentStatus;
+import com.lms.user.dto.BulkEnrollmentRequest;
+import com.lms.user.dto.BulkEnrollmentResult;
 import com.lms.user.dto.EnrollmentRequest;
+import com.lms.user.service.BulkEnrollmentService;
 import com.lms.user.service.EnrollmentService;
+import com.lms.user.service.ExportFormat;
+import com.lms.user.service.ExportService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 import java.util.UUID;
@@ -28,6 +37,8 @@ import java.util.UUID;
 public class EnrollmentController {
 
     private final EnrollmentService enrollmentService;
+    private final BulkEnrollmentService bulkEnrollmentService;
+    private final ExportService exportService;
 
     @GetMapping("/{userId}/enrollments")
     @Operation(summary = "Get user enrollments", description = "Get all enrollments for a user")
@@ -46,6 +57,44 @@ public class EnrollmentController {
         return ResponseEntity.ok(ApiResponse.success(enrollments));
     }
 
+    @GetMapping("/{userId}/enrollments/cursor")
+    @Operation(summary = "Get user enrollments (cursor)", description = "Get keyset-paginated enrollments for a user")
+    public ResponseEntity<ApiResponse<CursorPage<EnrollmentDto>>> getUserEnrollmentsCursor(
+            @PathVariable UUID userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+        CursorPage<EnrollmentDto> enrollments =
+                enrollmentService.getEnrollmentsByUserIdCursor(userId, cursor, size, includeTotal);
+        return ResponseEntity.ok(ApiResponse.success(enrollments));
+    }
+
+    @GetMapping("/enrollments/course/{courseId}")
+    @PreAuthorize("hasAnyRole('ADMIN', 'INSTRUCTOR')")
+    @Operation(summary = "Get course enrollments (cursor)", description = "Get keyset-paginated enrollments for a course")
+    public ResponseEntity<ApiResponse<CursorPage<EnrollmentDto>>> getCourseEnrollmentsCursor(
+            @PathVariable UUID courseId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+        CursorPage<EnrollmentDto> enrollments =
+                enrollmentService.getEnrollmentsByCourseIdCursor(courseId, cursor, size, includeTotal);
+        return ResponseEntity.ok(ApiResponse.success(enrollments));
+    }
+
+    @GetMapping("/enrollments/export")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Export enrollments", description = "Stream enrollments, optionally of one course, as CSV or NDJSON (Admin only)")
+    public ResponseEntity<StreamingResponseBody> exportEnrollments(
+            @RequestParam(required = false) UUID courseId,
+            @RequestParam(defaultValue = "CSV") ExportFormat format) {
+        return ResponseEntity.ok()
+                .contentType(format.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"" + format.fileName("enrollments") + "\"")
+                .body(out -> exportService.exportEnrollments(courseId, format, out));
+    }
+
     @PostMapping("/{userId}/enrollments")
     @Operation(summary = "Enroll user in course", description = "Enroll a user in a course")
     public ResponseEntity<ApiResponse<EnrollmentDto>> enrollUser(
@@ -58,6 +107,17 @@ public class EnrollmentController {
                 .body(ApiResponse.success(enrollment, "User enrolled successfully"));
     }
 
+    @PostMapping("/enrollments/bulk")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Bulk enroll users", description = "Enroll a roster of (user, course) pairs; existing enrollments are skipped (Admin only)")
+    public ResponseEntity<ApiResponse<BulkEnrollmentResult>> bulkEnroll(
+            @Valid @RequestBody BulkEnrollmentRequest request,
+            @AuthenticationPrincipal Jwt jwt) {
+        UUID enrolledBy = UUID.fromString(jwt.getSubject());
+        BulkEnrollmentResult result = bulkEnrollmentService.enroll(request, enrolledBy);
+        return ResponseEntity.ok(ApiResponse.success(result, "Bulk enrollment completed"));
+    }
+
     @PutMapping("/{userId}/enrollments/{courseId}/status")
     @Operation(summary = "Update enrollment status", description = "Update the status of an enrollment")
     public ResponseEntity<ApiResponse<EnrollmentDto>> updateEnrollmentStatus(
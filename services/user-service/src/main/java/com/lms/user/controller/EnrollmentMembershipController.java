@@ -0,0 +1,47 @@
+package com.lms.user.controller;
+
+import com.lms.common.dto.ApiResponse;
+import com.lms.user.dto.MembershipCheckRequest;
+import com.lms.user.service.EnrollmentService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Enrollment membership checks for other services, e.g. before serving
+ * content or starting a quiz. Answers come from memory, never the database.
+ * Callers authenticate as the backend service account, which carries the SERVICE role.
+ */
+@RestController
+@RequestMapping("/api/v1/internal/enrollments/membership")
+@PreAuthorize("hasAnyRole('ADMIN', 'SERVICE')")
+@RequiredArgsConstructor
+@Tag(name = "Enrollment Membership", description = "Internal enrollment membership checks")
+public class EnrollmentMembershipController {
+
+    private final EnrollmentService enrollmentService;
+
+    @GetMapping
+    @Operation(summary = "Check membership", description = "Check if a user has an active or completed enrollment in a course")
+    public ResponseEntity<ApiResponse<Boolean>> checkMembership(
+            @RequestParam UUID userId,
+            @RequestParam UUID courseId) {
+        boolean member = enrollmentService.hasAccess(userId, courseId);
+        return ResponseEntity.ok(ApiResponse.success(member));
+    }
+
+    @PostMapping("/batch")
+    @Operation(summary = "Check membership in batch", description = "Check up to 1000 users against one course")
+    public ResponseEntity<ApiResponse<Map<UUID, Boolean>>> checkMemberships(
+            @Valid @RequestBody MembershipCheckRequest request) {
+        Map<UUID, Boolean> members = enrollmentService.haveAccess(request.getCourseId(), request.getUserIds());
+        return ResponseEntity.ok(ApiResponse.success(members));
+    }
+}
@@ -0,0 +1,36 @@
+package com.lms.user.controller;
+
+import com.lms.common.dto.ApiResponse;
+import com.lms.user.service.UserService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Parent lookups for other services, e.g. to notify the parents of a whole
+ * class about attendance or grades. Answers come from memory, never the database.
+ * Like the other internal endpoints, only service accounts and admins may call it.
+ */
+@RestController
+@RequestMapping("/api/v1/internal/users/parents")
+@PreAuthorize("hasAnyRole('ADMIN', 'SERVICE')")
+@RequiredArgsConstructor
+@Tag(name = "Family", description = "Internal parent-student lookups")
+public class FamilyController {
+
+    private final UserService userService;
+
+    @PostMapping("/batch")
+    @Operation(summary = "Get parent IDs in batch", description = "Get the parent IDs of up to 1000 students, in request order")
+    public ResponseEntity<ApiResponse<Map<UUID, List<UUID>>>> getParentIds(@RequestBody List<UUID> studentIds) {
+        Map<UUID, List<UUID>> parents = userService.getParentIdsByStudentIds(studentIds);
+        return ResponseEntity.ok(ApiResponse.success(parents));
+    }
+}
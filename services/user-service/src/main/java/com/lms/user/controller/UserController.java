@@ -3,9 +3,12 @@ package com.lms.user.controller;
 import com.lms.common.dto.ApiResponse;
 import com.lms.common.dto.PagedResponse;
 import com.lms.common.dto.UserDto;
+import com.lms.common.dto.UserSummaryDto;
 import com.lms.common.enums.UserRole;
 import com.lms.user.dto.CreateUserRequest;
 import com.lms.user.dto.UpdateUserRequest;
+import com.lms.user.service.ExportFormat;
+import com.lms.user.service.ExportService;
 import com.lms.user.service.UserService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -14,10 +17,12 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 import java.util.UUID;
@@ -29,6 +34,7 @@ import java.util.UUID;
 public class UserController {
 
     private final UserService userService;
+    private final ExportService exportService;
 
     @GetMapping
     @Operation(summary = "Get all users", description = "Get paginated list of all active users")
@@ -38,6 +44,17 @@ public class UserController {
         return ResponseEntity.ok(ApiResponse.success(users));
     }
 
+    @GetMapping("/export")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Export users", description = "Stream all users as CSV or NDJSON (Admin only)")
+    public ResponseEntity<StreamingResponseBody> exportUsers(
+            @RequestParam(defaultValue = "CSV") ExportFormat format) {
+        return ResponseEntity.ok()
+                .contentType(format.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + format.fileName("users") + "\"")
+                .body(out -> exportService.exportUsers(format, out));
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Get user by ID", description = "Get user details by ID")
     public ResponseEntity<ApiResponse<UserDto>> getUserById(@PathVariable UUID id) {
@@ -45,6 +62,13 @@ public class UserController {
         return ResponseEntity.ok(ApiResponse.success(user));
     }
 
+    @PostMapping("/batch")
+    @Operation(summary = "Get users by IDs", description = "Get up to 100 users in one call, in request order; unknown IDs are skipped")
+    public ResponseEntity<ApiResponse<List<UserDto>>> getUsersByIds(@RequestBody List<UUID> ids) {
+        List<UserDto> users = userService.getUsersByIds(ids);
+        return ResponseEntity.ok(ApiResponse.success(users));
+    }
+
     @GetMapping("/username/{username}")
     @Operation(summary = "Get user by username", description = "Get user details by username")
     public ResponseEntity<ApiResponse<UserDto>> getUserByUsername(@PathVariable String username) {
@@ -88,6 +112,15 @@ public class UserController {
         return ResponseEntity.ok(ApiResponse.success(users));
     }
 
+    @GetMapping("/search/suggest")
+    @Operation(summary = "Suggest users", description = "Ranked, typo-tolerant user lookup for pickers; needs at least 3 characters")
+    public ResponseEntity<ApiResponse<List<UserSummaryDto>>> suggestUsers(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "10") int limit) {
+        List<UserSummaryDto> users = userService.suggestUsers(q, limit);
+        return ResponseEntity.ok(ApiResponse.success(users));
+    }
+
     @GetMapping("/role/{role}")
     @Operation(summary = "Get users by role", description = "Get users with specific role")
     public ResponseEntity<ApiResponse<PagedResponse<UserDto>>> getUsersByRole(
@@ -0,0 +1,39 @@
+package com.lms.user.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkEnrollmentRequest {
+
+    @NotEmpty(message = "Roster must not be empty")
+    @Size(max = 100000, message = "Roster must not exceed 100000 entries")
+    private List<@Valid Entry> enrollments;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Entry {
+
+        @NotNull(message = "User ID is required")
+        private UUID userId;
+
+        @NotNull(message = "Course ID is required")
+        private UUID courseId;
+
+        private String courseName;
+    }
+}
@@ -0,0 +1,24 @@
+package com.lms.user.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkEnrollmentResult {
+
+    private int requested;
+    private int duplicates;
+    private int enrolled;
+    private int alreadyEnrolled;
+    private List<UUID> unknownUserIds;
+    private Map<UUID, Long> enrolledByCourse;
+}
@@ -12,6 +12,9 @@ import java.util.UUID;
 @Entity
 @Table(name = "enrollments", uniqueConstraints = {
         @UniqueConstraint(columnNames = {"user_id", "course_id"})
+}, indexes = {
+        @Index(name = "idx_enrollments_user_keyset", columnList = "user_id, created_at, id"),
+        @Index(name = "idx_enrollments_course_keyset", columnList = "course_id, created_at, id")
 })
 @Getter
 @Setter
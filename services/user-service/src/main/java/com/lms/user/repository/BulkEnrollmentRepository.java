@@ -0,0 +1,71 @@
+package com.lms.user.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Set-based statements behind bulk enrollment. Rows are passed as parallel
+ * arrays and expanded with {@code unnest}, so each call is one round trip
+ * regardless of how many rows it carries.
+ */
+@Repository
+@RequiredArgsConstructor
+public class BulkEnrollmentRepository {
+
+    private static final String FIND_USER_IDS = "SELECT id FROM users WHERE id = ANY(?)";
+
+    // Pairs that already have an enrollment, in any status, are skipped and not returned
+    private static final String INSERT_ENROLLMENTS = "INSERT INTO enrollments (id, user_id, course_id, " +
+            "course_name, status, progress_percentage, enrolled_at, enrolled_by, created_at, updated_at, " +
+            "created_by, updated_by, version) " +
+            "SELECT r.id, r.user_id, r.course_id, r.course_name, 'ACTIVE', 0, ?, ?, ?, ?, ?, ?, 0 " +
+            "FROM unnest(?, ?, ?, ?) AS r(id, user_id, course_id, course_name) " +
+            "ON CONFLICT (user_id, course_id) DO NOTHING " +
+            "RETURNING user_id, course_id";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public Set<UUID> findExistingUserIds(Collection<UUID> userIds) {
+        return new HashSet<>(jdbcTemplate.query(FIND_USER_IDS,
+                ps -> ps.setArray(1, array(ps.getConnection(), "uuid", userIds)),
+                (rs, rowNum) -> rs.getObject(1, UUID.class)));
+    }
+
+    /**
+     * Inserts ACTIVE enrollments for the given (user, course) pairs and returns
+     * the pairs that were actually inserted as {userId, courseId}.
+     */
+    public List<UUID[]> insertIgnoringExisting(List<UUID> userIds, List<UUID> courseIds, List<String> courseNames,
+                                               UUID enrolledBy, String auditor) {
+        List<UUID> ids = userIds.stream().map(userId -> UUID.randomUUID()).toList();
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        return jdbcTemplate.query(INSERT_ENROLLMENTS, ps -> {
+            ps.setTimestamp(1, now);
+            ps.setObject(2, enrolledBy);
+            ps.setTimestamp(3, now);
+            ps.setTimestamp(4, now);
+            ps.setString(5, auditor);
+            ps.setString(6, auditor);
+            ps.setArray(7, array(ps.getConnection(), "uuid", ids));
+            ps.setArray(8, array(ps.getConnection(), "uuid", userIds));
+            ps.setArray(9, array(ps.getConnection(), "uuid", courseIds));
+            ps.setArray(10, array(ps.getConnection(), "text", courseNames));
+        }, (rs, rowNum) -> new UUID[]{rs.getObject(1, UUID.class), rs.getObject(2, UUID.class)});
+    }
+
+    private static Array array(Connection connection, String type, Collection<?> values) throws SQLException {
+        return connection.createArrayOf(type, values.toArray());
+    }
+}
@@ -9,6 +9,8 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -38,4 +40,34 @@ public interface EnrollmentRepository extends JpaRepository<Enrollment, UUID> {
 
     @Query("SELECT AVG(e.progressPercentage) FROM Enrollment e WHERE e.courseId = :courseId")
     Double getAverageProgressByCourseId(@Param("courseId") UUID courseId);
+
+    long countByUserId(UUID userId);
+
+    long countByCourseId(UUID courseId);
+
+    @Query("SELECT e FROM Enrollment e WHERE e.user.id = :userId ORDER BY e.createdAt DESC, e.id DESC")
+    List<Enrollment> findKeysetByUserId(@Param("userId") UUID userId, Pageable limit);
+
+    @Query("SELECT e FROM Enrollment e WHERE e.user.id = :userId AND " +
+            "(e.createdAt < :createdAt OR (e.createdAt = :createdAt AND e.id < :id)) " +
+            "ORDER BY e.createdAt DESC, e.id DESC")
+    List<Enrollment> findKeysetByUserIdAfter(@Param("userId") UUID userId,
+                                             @Param("createdAt") LocalDateTime createdAt,
+                                             @Param("id") UUID id, Pageable limit);
+
+    @Query("SELECT e FROM Enrollment e WHERE e.courseId = :courseId ORDER BY e.createdAt DESC, e.id DESC")
+    List<Enrollment> findKeysetByCourseId(@Param("courseId") UUID courseId, Pageable limit);
+
+    @Query("SELECT e FROM Enrollment e WHERE e.courseId = :courseId AND " +
+            "(e.createdAt < :createdAt OR (e.createdAt = :createdAt AND e.id < :id)) " +
+            "ORDER BY e.createdAt DESC, e.id DESC")
+    List<Enrollment> findKeysetByCourseIdAfter(@Param("courseId") UUID courseId,
+                                               @Param("createdAt") LocalDateTime createdAt,
+                                               @Param("id") UUID id, Pageable limit);
+
+    @Query("SELECT e.user.id, e.courseId FROM Enrollment e WHERE e.status IN :statuses")
+    List<Object[]> findMembershipRows(@Param("statuses") Collection<EnrollmentStatus> statuses);
+
+    @Query("SELECT e.user.id, e.courseId, e.status FROM Enrollment e WHERE e.updatedAt >= :since")
+    List<Object[]> findMembershipRowsUpdatedSince(@Param("since") LocalDateTime since);
 }
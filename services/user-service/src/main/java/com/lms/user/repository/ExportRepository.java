@@ -0,0 +1,90 @@
+package com.lms.user.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Forward-only reads behind the export endpoints. Rows are handed to the
+ * caller one at a time as they arrive; nothing is collected in memory.
+ *
+ * <p>The PostgreSQL driver only honours the fetch size inside a transaction,
+ * so callers must run these in one or the whole result is buffered.
+ */
+@Repository
+public class ExportRepository {
+
+    public static final List<String> USER_COLUMNS = List.of("id", "username", "email", "first_name", "last_name",
+            "phone", "city", "country", "is_active", "email_verified", "roles", "created_at", "updated_at");
+
+    public static final List<String> ENROLLMENT_COLUMNS = List.of("id", "user_id", "username", "email", "course_id",
+            "course_name", "status", "progress_percentage", "enrolled_at", "completed_at", "last_accessed_at");
+
+    private static final int FETCH_SIZE = 1000;
+
+    // Roles come from a correlated subquery rather than a join with GROUP BY,
+    // which would make Postgres aggregate the whole table before the first row
+    private static final String SELECT_USERS = "SELECT u.id, u.username, u.email, u.first_name, u.last_name, " +
+            "u.phone, u.city, u.country, u.is_active, u.email_verified, " +
+            "(SELECT string_agg(r.role, '|' ORDER BY r.role) FROM user_roles r WHERE r.user_id = u.id), " +
+            "u.created_at, u.updated_at FROM users u";
+
+    private static final String SELECT_ENROLLMENTS = "SELECT e.id, e.user_id, u.username, u.email, e.course_id, " +
+            "e.course_name, e.status, e.progress_percentage, e.enrolled_at, e.completed_at, e.last_accessed_at " +
+            "FROM enrollments e JOIN users u ON u.id = e.user_id";
+
+    private static final String BY_COURSE = " WHERE e.course_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ExportRepository(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(FETCH_SIZE);
+    }
+
+    public void streamUsers(Consumer<Object[]> consumer) {
+        jdbcTemplate.query(SELECT_USERS, handler(USER_COLUMNS.size(), consumer));
+    }
+
+    /**
+     * Streams the enrollments of one course, or of all courses when {@code courseId} is null.
+     */
+    public void streamEnrollments(UUID courseId, Consumer<Object[]> consumer) {
+        RowCallbackHandler handler = handler(ENROLLMENT_COLUMNS.size(), consumer);
+        if (courseId == null) {
+            jdbcTemplate.query(SELECT_ENROLLMENTS, handler);
+        } else {
+            jdbcTemplate.query(SELECT_ENROLLMENTS + BY_COURSE, handler, courseId);
+        }
+    }
+
+    private static RowCallbackHandler handler(int columns, Consumer<Object[]> consumer) {
+        // One array per row, reused; consumers must not hold on to it
+        Object[] values = new Object[columns];
+        return rs -> {
+            for (int i = 0; i < columns; i++) {
+                values[i] = value(rs, i + 1);
+            }
+            consumer.accept(values);
+        };
+    }
+
+    private static Object value(ResultSet rs, int column) throws SQLException {
+        Object value = rs.getObject(column);
+        if (value instanceof Timestamp timestamp) {
+            return timestamp.toLocalDateTime().toString();
+        }
+        if (value instanceof UUID uuid) {
+            return uuid.toString();
+        }
+        return value;
+    }
+}
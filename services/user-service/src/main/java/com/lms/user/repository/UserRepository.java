@@ -1,5 +1,6 @@
 package com.lms.user.repository;
 
+import com.lms.common.dto.UserSummaryDto;
 import com.lms.common.enums.UserRole;
 import com.lms.user.entity.User;
 import org.springframework.data.domain.Page;
@@ -9,6 +10,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -41,11 +43,27 @@ public interface UserRepository extends JpaRepository<User, UUID> {
             "LOWER(u.username) LIKE LOWER(CONCAT('%', :search, '%')))")
     Page<User> searchUsers(@Param("search") String search, Pageable pageable);
 
-    @Query("SELECT u FROM User u JOIN u.parents p WHERE p.id = :parentId")
-    List<User> findChildrenByParentId(@Param("parentId") UUID parentId);
+    // Each condition is served by a trigram GIN index, see UserSearchSchemaInitializer
+    @Query(value = "SELECT u.id FROM users u WHERE u.is_active = true AND (" +
+            "lower(u.username) LIKE :pattern OR lower(u.email) LIKE :pattern OR " +
+            "lower(u.first_name) LIKE :pattern OR lower(u.last_name) LIKE :pattern OR " +
+            ":query <% lower(u.username) OR :query <% lower(u.email) OR " +
+            ":query <% lower(u.first_name) OR :query <% lower(u.last_name)) " +
+            "ORDER BY greatest(word_similarity(:query, lower(u.username)), " +
+            "word_similarity(:query, lower(u.email)), word_similarity(:query, lower(u.first_name)), " +
+            "word_similarity(:query, lower(u.last_name))) DESC, u.username " +
+            "LIMIT :limit",
+            nativeQuery = true)
+    List<UUID> searchActiveUserIdsBySimilarity(@Param("query") String query, @Param("pattern") String pattern,
+                                               @Param("limit") int limit);
 
-    @Query("SELECT u FROM User u JOIN u.children c WHERE c.id = :studentId")
-    List<User> findParentsByStudentId(@Param("studentId") UUID studentId);
+    @Query("SELECT new com.lms.common.dto.UserSummaryDto(u.id, u.username, u.email, u.firstName, u.lastName, " +
+            "u.avatarUrl) FROM User u WHERE u.id IN :ids")
+    List<UserSummaryDto> findSummariesByIdIn(@Param("ids") Collection<UUID> ids);
+
+    // {parentId, studentId} for every link
+    @Query(value = "SELECT parent_id, student_id FROM parent_student", nativeQuery = true)
+    List<Object[]> findParentStudentLinks();
 
     Page<User> findByActiveTrue(Pageable pageable);
 }
@@ -0,0 +1,121 @@
+package com.lms.user.service;
+
+import com.lms.common.enums.EnrollmentStatus;
+import com.lms.common.security.SecurityUtils;
+import com.lms.common.transaction.TransactionCallbacks;
+import com.lms.user.dto.BulkEnrollmentRequest;
+import com.lms.user.dto.BulkEnrollmentResult;
+import com.lms.user.repository.BulkEnrollmentRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Enrolls a whole roster at once. Each chunk resolves its users with one
+ * query and inserts with one {@code ON CONFLICT DO NOTHING} statement, in its
+ * own transaction. Pairs that already have an enrollment are left untouched,
+ * so a roster can be resubmitted safely after a partial failure.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BulkEnrollmentService {
+
+    private final BulkEnrollmentRepository bulkEnrollmentRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final EnrollmentCache enrollmentCache;
+    private final EnrollmentMembershipIndex membershipIndex;
+    private final EnrollmentCountPublisher enrollmentCountPublisher;
+
+    @Value("${lms.user.bulk-enrollment.chunk-size:1000}")
+    private int chunkSize;
+
+    public BulkEnrollmentResult enroll(BulkEnrollmentRequest request, UUID enrolledBy) {
+        Map<Pair, String> roster = new LinkedHashMap<>();
+        request.getEnrollments().forEach(entry ->
+                roster.putIfAbsent(new Pair(entry.getUserId(), entry.getCourseId()), entry.getCourseName()));
+        List<Map.Entry<Pair, String>> entries = new ArrayList<>(roster.entrySet());
+
+        String auditor = SecurityUtils.getCurrentUsername().orElse("system");
+        Set<UUID> unknownUserIds = new LinkedHashSet<>();
+        Map<UUID, Long> deltas = new LinkedHashMap<>();
+        try {
+            for (int from = 0; from < entries.size(); from += chunkSize) {
+                List<Map.Entry<Pair, String>> chunk = entries.subList(from, Math.min(from + chunkSize, entries.size()));
+                Map<UUID, List<UUID>> inserted = transactionTemplate.execute(status ->
+                        enrollChunk(chunk, enrolledBy, auditor, unknownUserIds));
+                inserted.forEach((courseId, userIds) -> deltas.merge(courseId, (long) userIds.size(), Long::sum));
+            }
+        } finally {
+            // Committed chunks count even if a later one failed
+            enrollmentCountPublisher.publishAfterCommit(deltas);
+        }
+
+        int enrolled = (int) deltas.values().stream().mapToLong(Long::longValue).sum();
+        int unknown = (int) entries.stream().filter(entry -> unknownUserIds.contains(entry.getKey().userId())).count();
+        log.info("Bulk enrollment by {}: {} enrolled across {} course(s), {} already enrolled, {} unknown user(s)",
+                auditor, enrolled, deltas.size(), entries.size() - enrolled - unknown, unknownUserIds.size());
+
+        return BulkEnrollmentResult.builder()
+                .requested(request.getEnrollments().size())
+                .duplicates(request.getEnrollments().size() - entries.size())
+                .enrolled(enrolled)
+                .alreadyEnrolled(entries.size() - enrolled - unknown)
+                .unknownUserIds(new ArrayList<>(unknownUserIds))
+                .enrolledByCourse(deltas)
+                .build();
+    }
+
+    /**
+     * Returns the newly enrolled user ids per course.
+     */
+    private Map<UUID, List<UUID>> enrollChunk(List<Map.Entry<Pair, String>> chunk, UUID enrolledBy, String auditor,
+                                              Set<UUID> unknownUserIds) {
+        Set<UUID> requestedUsers = new LinkedHashSet<>();
+        chunk.forEach(entry -> requestedUsers.add(entry.getKey().userId()));
+        Set<UUID> existingUsers = bulkEnrollmentRepository.findExistingUserIds(requestedUsers);
+
+        List<UUID> userIds = new ArrayList<>(chunk.size());
+        List<UUID> courseIds = new ArrayList<>(chunk.size());
+        List<String> courseNames = new ArrayList<>(chunk.size());
+        for (Map.Entry<Pair, String> entry : chunk) {
+            UUID userId = entry.getKey().userId();
+            if (!existingUsers.contains(userId)) {
+                unknownUserIds.add(userId);
+                continue;
+            }
+            userIds.add(userId);
+            courseIds.add(entry.getKey().courseId());
+            courseNames.add(entry.getValue());
+        }
+        if (userIds.isEmpty()) {
+            return Map.of();
+        }
+
+        Map<UUID, List<UUID>> inserted = new HashMap<>();
+        Set<UUID> affectedUsers = new LinkedHashSet<>();
+        for (UUID[] pair : bulkEnrollmentRepository.insertIgnoringExisting(userIds, courseIds, courseNames,
+                enrolledBy, auditor)) {
+            inserted.computeIfAbsent(pair[1], id -> new ArrayList<>()).add(pair[0]);
+            affectedUsers.add(pair[0]);
+        }
+
+        inserted.forEach((courseId, users) -> membershipIndex.updateAll(courseId, users, EnrollmentStatus.ACTIVE));
+        TransactionCallbacks.afterCommit(() -> enrollmentCache.evictAll(affectedUsers));
+        return inserted;
+    }
+
+    private record Pair(UUID userId, UUID courseId) {
+    }
+}
@@ -0,0 +1,198 @@
+package com.lms.user.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lms.common.dto.EnrollmentDto;
+import com.lms.common.transaction.TransactionCallbacks;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Enrollments of each user cached as a Redis hash, one field per course, so
+ * a mutation rewrites a single field instead of evicting the whole list.
+ *
+ * <p>A hash only counts as complete while it carries the {@value #LOADED_FIELD}
+ * marker written by {@link #putAll}. Single-field writes are skipped for users
+ * whose hash isn't loaded, so a partial hash is never mistaken for the full list.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class EnrollmentCache {
+
+    private static final String KEY_PREFIX = "lms:enrollments:user:";
+    private static final String LOADED_FIELD = "_loaded";
+
+    private static final RedisScript<Long> PUT_IF_LOADED = RedisScript.of(
+            "if redis.call('HEXISTS', KEYS[1], '" + LOADED_FIELD + "') == 1 then " +
+                    "return redis.call('HSET', KEYS[1], ARGV[1], ARGV[2]) end " +
+                    "return -1", Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Value("${lms.user.enrollment-cache.ttl:PT30M}")
+    private Duration ttl;
+
+    /**
+     * All enrollments of a user, or null when the hash isn't loaded.
+     */
+    public List<EnrollmentDto> getAll(UUID userId) {
+        Map<Object, Object> entries;
+        try {
+            entries = redisTemplate.opsForHash().entries(key(userId));
+        } catch (DataAccessException e) {
+            log.warn("Enrollment cache read failed for user {}: {}", userId, e.getMessage());
+            return null;
+        }
+        if (!entries.containsKey(LOADED_FIELD)) {
+            return null;
+        }
+        List<EnrollmentDto> enrollments = new ArrayList<>(entries.size() - 1);
+        entries.forEach((field, value) -> {
+            if (!LOADED_FIELD.equals(field)) {
+                enrollments.add(read((String) value));
+            }
+        });
+        enrollments.sort(Comparator.comparing(EnrollmentDto::getEnrolledAt,
+                Comparator.nullsLast(Comparator.naturalOrder())));
+        return enrollments;
+    }
+
+    /**
+     * One enrollment of a user, or null when it isn't cached.
+     */
+    public EnrollmentDto get(UUID userId, UUID courseId) {
+        List<Object> values;
+        try {
+            values = redisTemplate.opsForHash().multiGet(key(userId), List.of(LOADED_FIELD, courseId.toString()));
+        } catch (DataAccessException e) {
+            log.warn("Enrollment cache read failed for user {}: {}", userId, e.getMessage());
+            return null;
+        }
+        // A field without the marker may be left over from an expired hash
+        if (values.get(0) == null || values.get(1) == null) {
+            return null;
+        }
+        return read((String) values.get(1));
+    }
+
+    /**
+     * HEXISTS on the user's hash; null when the hash isn't loaded.
+     */
+    public Boolean contains(UUID userId, UUID courseId) {
+        byte[] key = key(userId).getBytes(StandardCharsets.UTF_8);
+        byte[] field = courseId.toString().getBytes(StandardCharsets.UTF_8);
+        byte[] loaded = LOADED_FIELD.getBytes(StandardCharsets.UTF_8);
+        List<Object> results;
+        try {
+            results = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                connection.hashCommands().hExists(key, loaded);
+                connection.hashCommands().hExists(key, field);
+                return null;
+            });
+        } catch (DataAccessException e) {
+            log.warn("Enrollment cache read failed for user {}: {}", userId, e.getMessage());
+            return null;
+        }
+        return Boolean.TRUE.equals(results.get(0)) ? Boolean.TRUE.equals(results.get(1)) : null;
+    }
+
+    /**
+     * Replaces the user's hash with the full enrollment list and marks it loaded.
+     */
+    public void putAll(UUID userId, List<EnrollmentDto> enrollments) {
+        String key = key(userId);
+        Map<String, String> fields = new HashMap<>();
+        enrollments.forEach(enrollment -> fields.put(enrollment.getCourseId().toString(), write(enrollment)));
+        fields.put(LOADED_FIELD, "1");
+        try {
+            redisTemplate.execute(new SessionCallback<List<Object>>() {
+                @Override
+                @SuppressWarnings("unchecked")
+                public List<Object> execute(RedisOperations operations) {
+                    operations.multi();
+                    operations.delete(key);
+                    operations.opsForHash().putAll(key, fields);
+                    operations.expire(key, ttl);
+                    return operations.exec();
+                }
+            });
+        } catch (DataAccessException e) {
+            log.warn("Enrollment cache write failed for user {}: {}", userId, e.getMessage());
+        }
+    }
+
+    /**
+     * Writes one enrollment once the current transaction commits. Users whose
+     * hash isn't loaded are left alone; their next read loads everything.
+     */
+    public void putAfterCommit(UUID userId, EnrollmentDto enrollment) {
+        String value = write(enrollment);
+        TransactionCallbacks.afterCommit(() -> {
+            try {
+                redisTemplate.execute(PUT_IF_LOADED, List.of(key(userId)),
+                        enrollment.getCourseId().toString(), value);
+            } catch (DataAccessException e) {
+                log.warn("Enrollment cache write failed for user {}, evicting: {}", userId, e.getMessage());
+                evict(userId);
+            }
+        });
+    }
+
+    public void evict(UUID userId) {
+        try {
+            redisTemplate.delete(key(userId));
+        } catch (DataAccessException e) {
+            // The TTL bounds how long the stale hash can be served
+            log.warn("Enrollment cache eviction failed for user {}: {}", userId, e.getMessage());
+        }
+    }
+
+    public void evictAll(Collection<UUID> userIds) {
+        try {
+            redisTemplate.delete(userIds.stream().map(EnrollmentCache::key).toList());
+        } catch (DataAccessException e) {
+            log.warn("Enrollment cache eviction failed for {} user(s): {}", userIds.size(), e.getMessage());
+        }
+    }
+
+    private static String key(UUID userId) {
+        return KEY_PREFIX + userId;
+    }
+
+    private String write(EnrollmentDto enrollment) {
+        try {
+            return objectMapper.writeValueAsString(enrollment);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private EnrollmentDto read(String value) {
+        try {
+            return objectMapper.readValue(value, EnrollmentDto.class);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.lms.user.service;
+
+import com.lms.common.config.KafkaConfig;
+import com.lms.common.event.EnrollmentCountEvent;
+import com.lms.common.transaction.TransactionCallbacks;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Tells course-service how many enrollments each course gained or lost, one
+ * event per course. Does nothing when Kafka isn't configured.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class EnrollmentCountPublisher {
+
+    private final ObjectProvider<KafkaTemplate<String, Object>> kafkaTemplate;
+
+    public void publishAfterCommit(UUID courseId, long delta) {
+        publishAfterCommit(Map.of(courseId, delta));
+    }
+
+    public void publishAfterCommit(Map<UUID, Long> deltas) {
+        KafkaTemplate<String, Object> template = kafkaTemplate.getIfAvailable();
+        if (template == null) {
+            return;
+        }
+        Map<UUID, Long> snapshot = Map.copyOf(deltas);
+        TransactionCallbacks.afterCommit(() -> snapshot.forEach((courseId, delta) -> {
+            if (delta != 0) {
+                template.send(KafkaConfig.TOPIC_ENROLLMENT_EVENTS, courseId.toString(),
+                                EnrollmentCountEvent.create(courseId, delta))
+                        .whenComplete((result, e) -> {
+                            if (e != null) {
+                                log.error("Failed to publish enrollment delta {} for course {}", delta, courseId, e);
+                            }
+                        });
+            }
+        }));
+    }
+}
@@ -0,0 +1,188 @@
+package com.lms.user.service;
+
+import com.lms.common.enums.EnrollmentStatus;
+import com.lms.user.repository.EnrollmentRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+/**
+ * In-process answer to "is user X enrolled in course Y". Each user gets a
+ * dense ordinal and each course a bitmap of member ordinals, so single and
+ * batched checks never touch Postgres. Only {@link #MEMBER_STATUSES} count
+ * as membership; pending, dropped and expired enrollments grant no access.
+ *
+ * <p>Local writes are applied after commit and broadcast through
+ * {@link IndexSync}; the periodic refresh of recently updated enrollments
+ * covers lost messages.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class EnrollmentMembershipIndex {
+
+    public static final Set<EnrollmentStatus> MEMBER_STATUSES =
+            EnumSet.of(EnrollmentStatus.ACTIVE, EnrollmentStatus.COMPLETED);
+
+    private static final String CHANNEL = "lms:enrollment-membership";
+    private static final String SEPARATOR = "|";
+
+    // updated_at is stamped by whichever instance wrote the row, and its clock may lag ours
+    private static final long REFRESH_OVERLAP_SECONDS = 60;
+
+    private final EnrollmentRepository enrollmentRepository;
+    private final StringRedisTemplate redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<UUID, Integer> userOrdinals = new HashMap<>();
+    private final Map<UUID, RoaringBitmap> members = new HashMap<>();
+
+    private volatile LocalDateTime lastRefresh;
+
+    private IndexSync<Change> sync;
+
+    private record Change(UUID courseId, List<UUID> userIds, boolean member) {
+    }
+
+    @PostConstruct
+    public void build() {
+        sync = new IndexSync<>(CHANNEL, lock.writeLock(), this::apply,
+                EnrollmentMembershipIndex::encode, EnrollmentMembershipIndex::decode, redisTemplate);
+        sync.subscribe(listenerContainer);
+
+        LocalDateTime startedAt = LocalDateTime.now();
+        List<Object[]> rows = sync.read(() -> enrollmentRepository.findMembershipRows(MEMBER_STATUSES));
+
+        lock.writeLock().lock();
+        try {
+            userOrdinals.clear();
+            members.clear();
+            rows.forEach(row -> apply((UUID) row[0], (UUID) row[1], true));
+            sync.replayChangesDuringRead();
+            members.values().forEach(RoaringBitmap::runOptimize);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        lastRefresh = startedAt;
+        log.info("Enrollment membership index built: {} enrollment(s), {} course(s)", rows.size(), members.size());
+    }
+
+    @Scheduled(fixedDelayString = "${lms.user.membership-index.refresh-interval-ms:60000}")
+    public void refresh() {
+        LocalDateTime startedAt = LocalDateTime.now();
+        LocalDateTime since = lastRefresh.minusSeconds(REFRESH_OVERLAP_SECONDS);
+        List<Object[]> rows = sync.read(() -> enrollmentRepository.findMembershipRowsUpdatedSince(since));
+
+        lock.writeLock().lock();
+        try {
+            rows.forEach(row ->
+                    apply((UUID) row[0], (UUID) row[1], MEMBER_STATUSES.contains((EnrollmentStatus) row[2])));
+            sync.replayChangesDuringRead();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        if (!rows.isEmpty()) {
+            log.debug("Enrollment membership index refreshed {} enrollment(s)", rows.size());
+        }
+        lastRefresh = startedAt;
+    }
+
+    /**
+     * Records an enrollment's new status once the current transaction commits,
+     * here and on every other instance.
+     */
+    public void update(UUID userId, UUID courseId, EnrollmentStatus status) {
+        updateAll(courseId, List.of(userId), status);
+    }
+
+    /**
+     * Same as {@link #update} for many users of one course, with a single broadcast.
+     */
+    public void updateAll(UUID courseId, Collection<UUID> userIds, EnrollmentStatus status) {
+        sync.changeAfterCommit(new Change(courseId, List.copyOf(userIds), MEMBER_STATUSES.contains(status)));
+    }
+
+    public boolean isMember(UUID userId, UUID courseId) {
+        lock.readLock().lock();
+        try {
+            Integer ordinal = userOrdinals.get(userId);
+            RoaringBitmap courseMembers = members.get(courseId);
+            return ordinal != null && courseMembers != null && courseMembers.contains(ordinal);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Membership of each of the given users in one course, in request order.
+     */
+    public Map<UUID, Boolean> areMembers(UUID courseId, Collection<UUID> userIds) {
+        Map<UUID, Boolean> result = new LinkedHashMap<>();
+        lock.readLock().lock();
+        try {
+            RoaringBitmap courseMembers = members.get(courseId);
+            for (UUID userId : userIds) {
+                Integer ordinal = userOrdinals.get(userId);
+                result.put(userId, ordinal != null && courseMembers != null && courseMembers.contains(ordinal));
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return result;
+    }
+
+    private static String encode(Change change) {
+        return String.join(SEPARATOR, change.courseId().toString(), change.member() ? "1" : "0",
+                change.userIds().stream().map(UUID::toString).collect(Collectors.joining(",")));
+    }
+
+    private static Change decode(String payload) {
+        String[] parts = payload.split("\\|");
+        if (parts.length != 3) {
+            return null;
+        }
+        List<UUID> userIds = Arrays.stream(parts[2].split(",")).map(UUID::fromString).toList();
+        return new Change(UUID.fromString(parts[0]), userIds, "1".equals(parts[1]));
+    }
+
+    private void apply(Change change) {
+        change.userIds().forEach(userId -> apply(userId, change.courseId(), change.member()));
+    }
+
+    // Only reached under the write lock, from a build, a refresh or IndexSync
+    private void apply(UUID userId, UUID courseId, boolean member) {
+        if (member) {
+            int ordinal = userOrdinals.computeIfAbsent(userId, id -> userOrdinals.size());
+            members.computeIfAbsent(courseId, id -> new RoaringBitmap()).add(ordinal);
+            return;
+        }
+        Integer ordinal = userOrdinals.get(userId);
+        RoaringBitmap courseMembers = members.get(courseId);
+        if (ordinal != null && courseMembers != null) {
+            courseMembers.remove(ordinal);
+            if (courseMembers.isEmpty()) {
+                members.remove(courseId);
+            }
+        }
+    }
+}
@@ -1,8 +1,10 @@
 package com.lms.user.service;
 
+import com.lms.common.dto.CursorPage;
 import com.lms.common.dto.EnrollmentDto;
 import com.lms.common.dto.PagedResponse;
 import com.lms.common.enums.EnrollmentStatus;
+import com.lms.common.exception.BadRequestException;
 import com.lms.common.exception.ConflictException;
 import com.lms.common.exception.ResourceNotFoundException;
 import com.lms.user.dto.EnrollmentRequest;
@@ -13,15 +15,16 @@ import com.lms.user.repository.EnrollmentRepository;
 import com.lms.user.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.cache.annotation.CacheEvict;
-import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -30,17 +33,29 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class EnrollmentService {
 
+    static final int MAX_MEMBERSHIP_BATCH_SIZE = 1000;
+
     private final EnrollmentRepository enrollmentRepository;
     private final UserRepository userRepository;
     private final EnrollmentMapper enrollmentMapper;
+    private final ProgressBuffer progressBuffer;
+    private final EnrollmentCache enrollmentCache;
+    private final EnrollmentMembershipIndex membershipIndex;
+    private final EnrollmentCountPublisher enrollmentCountPublisher;
+    private final TransactionTemplate transactionTemplate;
 
-    @Transactional(readOnly = true)
-    @Cacheable(value = "enrollments", key = "'user_' + #userId")
+    /**
+     * All enrollments of a user, served from {@link EnrollmentCache}. Cache hits
+     * don't open a transaction; a miss loads the list and caches it as a whole.
+     */
     public List<EnrollmentDto> getEnrollmentsByUserId(UUID userId) {
-        List<Enrollment> enrollments = enrollmentRepository.findByUserId(userId);
-        return enrollments.stream()
-                .map(enrollmentMapper::toDto)
-                .collect(Collectors.toList());
+        List<EnrollmentDto> cached = enrollmentCache.getAll(userId);
+        if (cached != null) {
+            return cached;
+        }
+        List<EnrollmentDto> enrollments = transactionTemplate.execute(status -> loadEnrollments(userId));
+        enrollmentCache.putAll(userId, enrollments);
+        return enrollments;
     }
 
     @Transactional(readOnly = true)
@@ -61,8 +76,41 @@ public class EnrollmentService {
         return PagedResponse.of(enrollments, dtos);
     }
 
+    @Transactional(readOnly = true)
+    public CursorPage<EnrollmentDto> getEnrollmentsByUserIdCursor(UUID userId, String cursor, int size,
+                                                                  boolean includeTotal) {
+        size = CursorPage.boundedSize(size);
+        Pageable limit = PageRequest.of(0, size + 1);
+        List<Enrollment> rows;
+        if (cursor == null) {
+            rows = enrollmentRepository.findKeysetByUserId(userId, limit);
+        } else {
+            CursorPage.Cursor after = CursorPage.Cursor.decode(cursor);
+            rows = enrollmentRepository.findKeysetByUserIdAfter(userId, after.createdAt(), after.id(), limit);
+        }
+        Long total = includeTotal ? enrollmentRepository.countByUserId(userId) : null;
+        return CursorPage.map(CursorPage.of(rows, size, Enrollment::getCreatedAt, Enrollment::getId, total),
+                enrollmentMapper::toDto);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<EnrollmentDto> getEnrollmentsByCourseIdCursor(UUID courseId, String cursor, int size,
+                                                                    boolean includeTotal) {
+        size = CursorPage.boundedSize(size);
+        Pageable limit = PageRequest.of(0, size + 1);
+        List<Enrollment> rows;
+        if (cursor == null) {
+            rows = enrollmentRepository.findKeysetByCourseId(courseId, limit);
+        } else {
+            CursorPage.Cursor after = CursorPage.Cursor.decode(cursor);
+            rows = enrollmentRepository.findKeysetByCourseIdAfter(courseId, after.createdAt(), after.id(), limit);
+        }
+        Long total = includeTotal ? enrollmentRepository.countByCourseId(courseId) : null;
+        return CursorPage.map(CursorPage.of(rows, size, Enrollment::getCreatedAt, Enrollment::getId, total),
+                enrollmentMapper::toDto);
+    }
+
     @Transactional
-    @CacheEvict(value = "enrollments", key = "'user_' + #userId")
     public EnrollmentDto enrollUser(UUID userId, EnrollmentRequest request, UUID enrolledBy) {
         // Check if user exists
         User user = userRepository.findById(userId)
@@ -86,15 +134,20 @@ public class EnrollmentService {
         enrollment = enrollmentRepository.save(enrollment);
         log.info("User {} enrolled in course {}", user.getUsername(), request.getCourseId());
 
-        return enrollmentMapper.toDto(enrollment);
+        EnrollmentDto dto = enrollmentMapper.toDto(enrollment);
+        enrollmentCache.putAfterCommit(userId, dto);
+        membershipIndex.update(userId, dto.getCourseId(), dto.getStatus());
+        enrollmentCountPublisher.publishAfterCommit(dto.getCourseId(), 1);
+        return dto;
     }
 
     @Transactional
-    @CacheEvict(value = "enrollments", key = "'user_' + #userId")
     public EnrollmentDto updateEnrollmentStatus(UUID userId, UUID courseId, EnrollmentStatus status) {
         Enrollment enrollment = enrollmentRepository.findByUserIdAndCourseId(userId, courseId)
                 .orElseThrow(() -> new ResourceNotFoundException("Enrollment not found"));
 
+        EnrollmentStatus previous = enrollment.getStatus();
+        applyBufferedProgress(enrollment);
         enrollment.setStatus(status);
         if (status == EnrollmentStatus.COMPLETED) {
             enrollment.markCompleted();
@@ -103,38 +156,103 @@ public class EnrollmentService {
         enrollment = enrollmentRepository.save(enrollment);
         log.info("Enrollment status updated for user {} in course {}: {}", userId, courseId, status);
 
-        return enrollmentMapper.toDto(enrollment);
+        EnrollmentDto dto = enrollmentMapper.toDto(enrollment);
+        enrollmentCache.putAfterCommit(userId, dto);
+        membershipIndex.update(userId, dto.getCourseId(), dto.getStatus());
+        publishCountChange(courseId, previous, dto.getStatus());
+        return dto;
     }
 
-    @Transactional
-    @CacheEvict(value = "enrollments", key = "'user_' + #userId")
+    /**
+     * Records a progress heartbeat. The new progress is written through to the
+     * user's cached enrollment and persisted by the next {@link ProgressBuffer}
+     * flush. Completing a course, or updating a completed one, is written
+     * immediately so the status change is never delayed or lost.
+     */
     public EnrollmentDto updateProgress(UUID userId, UUID courseId, double progress) {
+        EnrollmentDto enrollment = enrollmentCache.get(userId, courseId);
+        if (enrollment == null) {
+            enrollment = getEnrollmentsByUserId(userId).stream()
+                    .filter(e -> courseId.equals(e.getCourseId()))
+                    .findFirst()
+                    .orElseThrow(() -> new ResourceNotFoundException("Enrollment not found"));
+        }
+
+        if (progress >= 100.0 || enrollment.getStatus() == EnrollmentStatus.COMPLETED) {
+            return transactionTemplate.execute(status -> saveProgress(userId, courseId, progress));
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        EnrollmentDto updated = enrollment.toBuilder()
+                .progressPercentage(Math.max(0.0, progress))
+                .lastAccessedAt(now)
+                .build();
+        progressBuffer.record(userId, courseId, updated.getProgressPercentage(), now);
+        enrollmentCache.putAfterCommit(userId, updated);
+
+        log.debug("Progress buffered for user {} in course {}: {}%", userId, courseId, progress);
+        return updated;
+    }
+
+    private EnrollmentDto saveProgress(UUID userId, UUID courseId, double progress) {
         Enrollment enrollment = enrollmentRepository.findByUserIdAndCourseId(userId, courseId)
                 .orElseThrow(() -> new ResourceNotFoundException("Enrollment not found"));
 
+        EnrollmentStatus previous = enrollment.getStatus();
+        progressBuffer.take(userId, courseId);
         enrollment.updateProgress(progress);
         enrollment = enrollmentRepository.save(enrollment);
-        
+
         log.debug("Progress updated for user {} in course {}: {}%", userId, courseId, progress);
 
-        return enrollmentMapper.toDto(enrollment);
+        EnrollmentDto dto = enrollmentMapper.toDto(enrollment);
+        enrollmentCache.putAfterCommit(userId, dto);
+        membershipIndex.update(userId, dto.getCourseId(), dto.getStatus());
+        publishCountChange(courseId, previous, dto.getStatus());
+        return dto;
     }
 
     @Transactional
-    @CacheEvict(value = "enrollments", key = "'user_' + #userId")
     public void unenrollUser(UUID userId, UUID courseId) {
         Enrollment enrollment = enrollmentRepository.findByUserIdAndCourseId(userId, courseId)
                 .orElseThrow(() -> new ResourceNotFoundException("Enrollment not found"));
 
+        EnrollmentStatus previous = enrollment.getStatus();
+        applyBufferedProgress(enrollment);
         enrollment.setStatus(EnrollmentStatus.DROPPED);
-        enrollmentRepository.save(enrollment);
+        enrollment = enrollmentRepository.save(enrollment);
+        enrollmentCache.putAfterCommit(userId, enrollmentMapper.toDto(enrollment));
+        membershipIndex.update(userId, courseId, EnrollmentStatus.DROPPED);
+        publishCountChange(courseId, previous, EnrollmentStatus.DROPPED);
         
         log.info("User {} unenrolled from course {}", userId, courseId);
     }
 
-    @Transactional(readOnly = true)
+    /**
+     * A single HEXISTS when the user's enrollments are cached; otherwise the
+     * list is loaded once and cached for the following checks.
+     */
     public boolean isUserEnrolled(UUID userId, UUID courseId) {
-        return enrollmentRepository.existsByUserIdAndCourseId(userId, courseId);
+        Boolean cached = enrollmentCache.contains(userId, courseId);
+        if (cached != null) {
+            return cached;
+        }
+        return getEnrollmentsByUserId(userId).stream().anyMatch(e -> courseId.equals(e.getCourseId()));
+    }
+
+    /**
+     * Access check answered from {@link EnrollmentMembershipIndex}; only active
+     * and completed enrollments count.
+     */
+    public boolean hasAccess(UUID userId, UUID courseId) {
+        return membershipIndex.isMember(userId, courseId);
+    }
+
+    public Map<UUID, Boolean> haveAccess(UUID courseId, List<UUID> userIds) {
+        if (userIds.size() > MAX_MEMBERSHIP_BATCH_SIZE) {
+            throw new BadRequestException("At most " + MAX_MEMBERSHIP_BATCH_SIZE + " users can be checked at once");
+        }
+        return membershipIndex.areMembers(courseId, userIds);
     }
 
     @Transactional(readOnly = true)
@@ -146,4 +264,40 @@ public class EnrollmentService {
     public Double getAverageProgressByCourse(UUID courseId) {
         return enrollmentRepository.getAverageProgressByCourseId(courseId);
     }
+
+    /**
+     * Course enrollment counts track membership, so a delta is published only
+     * when a transition enters or leaves {@link EnrollmentMembershipIndex#MEMBER_STATUSES}.
+     */
+    private void publishCountChange(UUID courseId, EnrollmentStatus before, EnrollmentStatus after) {
+        int delta = (EnrollmentMembershipIndex.MEMBER_STATUSES.contains(after) ? 1 : 0)
+                - (EnrollmentMembershipIndex.MEMBER_STATUSES.contains(before) ? 1 : 0);
+        if (delta != 0) {
+            enrollmentCountPublisher.publishAfterCommit(courseId, delta);
+        }
+    }
+
+    private List<EnrollmentDto> loadEnrollments(UUID userId) {
+        List<EnrollmentDto> enrollments = enrollmentRepository.findByUserId(userId).stream()
+                .map(enrollmentMapper::toDto)
+                .collect(Collectors.toList());
+        // Heartbeats buffered on this instance are newer than what the database holds
+        enrollments.forEach(enrollment -> {
+            ProgressBuffer.Pending pending = progressBuffer.peek(userId, enrollment.getCourseId());
+            if (pending != null) {
+                enrollment.setProgressPercentage(pending.progress());
+                enrollment.setLastAccessedAt(pending.accessedAt());
+            }
+        });
+        return enrollments;
+    }
+
+    // Folds unflushed progress into an entity about to be saved, so a later flush can't overwrite it
+    private void applyBufferedProgress(Enrollment enrollment) {
+        ProgressBuffer.Pending pending = progressBuffer.take(enrollment.getUser().getId(), enrollment.getCourseId());
+        if (pending != null) {
+            enrollment.setProgressPercentage(pending.progress());
+            enrollment.setLastAccessedAt(pending.accessedAt());
+        }
+    }
 }
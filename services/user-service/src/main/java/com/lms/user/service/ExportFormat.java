@@ -0,0 +1,25 @@
+package com.lms.user.service;
+
+import org.springframework.http.MediaType;
+
+public enum ExportFormat {
+
+    CSV("text/csv", "csv"),
+    NDJSON("application/x-ndjson", "ndjson");
+
+    private final MediaType mediaType;
+    private final String extension;
+
+    ExportFormat(String mediaType, String extension) {
+        this.mediaType = MediaType.parseMediaType(mediaType);
+        this.extension = extension;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    public String fileName(String baseName) {
+        return baseName + "." + extension;
+    }
+}
@@ -0,0 +1,64 @@
+package com.lms.user.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lms.user.repository.ExportRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Streams users and enrollments to an output stream as CSV or NDJSON. Rows go
+ * from the database cursor to the response one at a time, so memory use
+ * doesn't grow with the size of the export.
+ */
+@Slf4j
+@Service
+public class ExportService {
+
+    private final ExportRepository exportRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public ExportService(ExportRepository exportRepository, ObjectMapper objectMapper,
+                         PlatformTransactionManager transactionManager) {
+        this.exportRepository = exportRepository;
+        this.objectMapper = objectMapper;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    public void exportUsers(ExportFormat format, OutputStream out) throws IOException {
+        export(format, out, ExportRepository.USER_COLUMNS, exportRepository::streamUsers);
+        log.info("Exported users as {}", format);
+    }
+
+    public void exportEnrollments(UUID courseId, ExportFormat format, OutputStream out) throws IOException {
+        export(format, out, ExportRepository.ENROLLMENT_COLUMNS,
+                consumer -> exportRepository.streamEnrollments(courseId, consumer));
+        log.info("Exported enrollments{} as {}", courseId != null ? " of course " + courseId : "", format);
+    }
+
+    private void export(ExportFormat format, OutputStream out, List<String> columns,
+                        Consumer<Consumer<Object[]>> stream) throws IOException {
+        try (ExportWriter writer = ExportWriter.create(format, out, columns, objectMapper)) {
+            readOnlyTransaction.executeWithoutResult(status -> stream.accept(values -> {
+                try {
+                    writer.row(values);
+                } catch (IOException e) {
+                    // Usually the client went away; the failure ends the cursor
+                    throw new UncheckedIOException(e);
+                }
+            }));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+}
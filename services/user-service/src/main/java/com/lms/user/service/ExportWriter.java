@@ -0,0 +1,112 @@
+package com.lms.user.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Writes export rows straight to the response stream, one at a time.
+ * Values are expected to be strings, numbers, booleans or null.
+ */
+abstract class ExportWriter implements Closeable {
+
+    protected final List<String> columns;
+
+    private ExportWriter(List<String> columns) {
+        this.columns = columns;
+    }
+
+    static ExportWriter create(ExportFormat format, OutputStream out, List<String> columns,
+                               ObjectMapper objectMapper) throws IOException {
+        return format == ExportFormat.CSV
+                ? new Csv(out, columns)
+                : new Ndjson(objectMapper.createGenerator(out), columns);
+    }
+
+    abstract void row(Object[] values) throws IOException;
+
+    private static final class Csv extends ExportWriter {
+
+        private final Writer writer;
+
+        private Csv(OutputStream out, List<String> columns) throws IOException {
+            super(columns);
+            this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            row(columns.toArray());
+        }
+
+        @Override
+        void row(Object[] values) throws IOException {
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                if (values[i] != null) {
+                    writeField(values[i].toString());
+                }
+            }
+            writer.write("\r\n");
+        }
+
+        // RFC 4180 quoting, only where needed
+        private void writeField(String value) throws IOException {
+            boolean quote = value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                    || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+            if (!quote) {
+                writer.write(value);
+                return;
+            }
+            writer.write('"');
+            writer.write(value.replace("\"", "\"\""));
+            writer.write('"');
+        }
+
+        @Override
+        public void close() throws IOException {
+            writer.flush();
+        }
+    }
+
+    private static final class Ndjson extends ExportWriter {
+
+        private final JsonGenerator generator;
+
+        private Ndjson(JsonGenerator generator, List<String> columns) {
+            super(columns);
+            this.generator = generator;
+        }
+
+        @Override
+        void row(Object[] values) throws IOException {
+            generator.writeStartObject();
+            for (int i = 0; i < values.length; i++) {
+                generator.writeFieldName(columns.get(i));
+                Object value = values[i];
+                if (value == null) {
+                    generator.writeNull();
+                } else if (value instanceof Boolean bool) {
+                    generator.writeBoolean(bool);
+                } else if (value instanceof Number number) {
+                    generator.writeNumber(number.toString());
+                } else {
+                    generator.writeString(value.toString());
+                }
+            }
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        }
+
+        @Override
+        public void close() throws IOException {
+            generator.flush();
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package com.lms.user.service;
+
+import com.lms.user.repository.UserRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-process adjacency lists of the parent-student relationship, in both
+ * directions, so parents of a whole class resolve in one call without
+ * touching Postgres.
+ *
+ * <p>Local links are applied after commit and broadcast through
+ * {@link IndexSync}. The link table carries no timestamps, so lost messages
+ * are covered by a periodic full rebuild rather than an incremental refresh.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class FamilyGraph {
+
+    private static final String CHANNEL = "lms:family-graph";
+    private static final String SEPARATOR = "|";
+    private static final UUID[] NONE = new UUID[0];
+
+    private final UserRepository userRepository;
+    private final StringRedisTemplate redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Map<UUID, UUID[]> parentsByStudent = new HashMap<>();
+    private Map<UUID, UUID[]> childrenByParent = new HashMap<>();
+
+    private IndexSync<Change> sync;
+
+    private record Change(UUID parentId, UUID studentId, boolean linked) {
+    }
+
+    @PostConstruct
+    public void build() {
+        sync = new IndexSync<>(CHANNEL, lock.writeLock(), this::apply,
+                FamilyGraph::encode, FamilyGraph::decode, redisTemplate);
+        sync.subscribe(listenerContainer);
+        rebuild();
+    }
+
+    @Scheduled(fixedDelayString = "${lms.user.family-graph.refresh-interval-ms:300000}",
+            initialDelayString = "${lms.user.family-graph.refresh-interval-ms:300000}")
+    public void rebuild() {
+        Map<UUID, UUID[]> parents = new HashMap<>();
+        Map<UUID, UUID[]> children = new HashMap<>();
+        List<Object[]> links = sync.read(userRepository::findParentStudentLinks);
+        links.forEach(link -> {
+            parents.put((UUID) link[1], add(parents.get((UUID) link[1]), (UUID) link[0]));
+            children.put((UUID) link[0], add(children.get((UUID) link[0]), (UUID) link[1]));
+        });
+
+        lock.writeLock().lock();
+        try {
+            parentsByStudent = parents;
+            childrenByParent = children;
+            sync.replayChangesDuringRead();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.debug("Family graph built: {} link(s)", links.size());
+    }
+
+    /**
+     * Records a link once the current transaction commits, here and on every other instance.
+     */
+    public void link(UUID parentId, UUID studentId) {
+        sync.changeAfterCommit(new Change(parentId, studentId, true));
+    }
+
+    public void unlink(UUID parentId, UUID studentId) {
+        sync.changeAfterCommit(new Change(parentId, studentId, false));
+    }
+
+    public List<UUID> parentsOf(UUID studentId) {
+        lock.readLock().lock();
+        try {
+            return List.of(parentsByStudent.getOrDefault(studentId, NONE));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<UUID> childrenOf(UUID parentId) {
+        lock.readLock().lock();
+        try {
+            return List.of(childrenByParent.getOrDefault(parentId, NONE));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Parent ids of each of the given students, in request order; students
+     * without parents map to an empty list.
+     */
+    public Map<UUID, List<UUID>> parentsOf(Collection<UUID> studentIds) {
+        Map<UUID, List<UUID>> result = new LinkedHashMap<>();
+        lock.readLock().lock();
+        try {
+            for (UUID studentId : studentIds) {
+                result.put(studentId, List.of(parentsByStudent.getOrDefault(studentId, NONE)));
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return result;
+    }
+
+    private static String encode(Change change) {
+        return String.join(SEPARATOR, change.parentId().toString(), change.studentId().toString(),
+                change.linked() ? "1" : "0");
+    }
+
+    private static Change decode(String payload) {
+        String[] parts = payload.split("\\|");
+        if (parts.length != 3) {
+            return null;
+        }
+        return new Change(UUID.fromString(parts[0]), UUID.fromString(parts[1]), "1".equals(parts[2]));
+    }
+
+    private void apply(Change change) {
+        apply(change.parentId(), change.studentId(), change.linked());
+    }
+
+    // Edits both adjacency maps in place, so the write lock has to be held
+    private void apply(UUID parentId, UUID studentId, boolean linked) {
+        if (linked) {
+            parentsByStudent.put(studentId, add(parentsByStudent.get(studentId), parentId));
+            childrenByParent.put(parentId, add(childrenByParent.get(parentId), studentId));
+        } else {
+            update(parentsByStudent, studentId, remove(parentsByStudent.get(studentId), parentId));
+            update(childrenByParent, parentId, remove(childrenByParent.get(parentId), studentId));
+        }
+    }
+
+    private static void update(Map<UUID, UUID[]> adjacency, UUID key, UUID[] ids) {
+        if (ids.length == 0) {
+            adjacency.remove(key);
+        } else {
+            adjacency.put(key, ids);
+        }
+    }
+
+    private static UUID[] add(UUID[] ids, UUID id) {
+        if (ids == null) {
+            return new UUID[]{id};
+        }
+        for (UUID existing : ids) {
+            if (existing.equals(id)) {
+                return ids;
+            }
+        }
+        UUID[] grown = Arrays.copyOf(ids, ids.length + 1);
+        grown[ids.length] = id;
+        return grown;
+    }
+
+    private static UUID[] remove(UUID[] ids, UUID id) {
+        if (ids == null) {
+            return NONE;
+        }
+        return Arrays.stream(ids).filter(existing -> !existing.equals(id)).toArray(UUID[]::new);
+    }
+}
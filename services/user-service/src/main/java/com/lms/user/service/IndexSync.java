@@ -0,0 +1,130 @@
+package com.lms.user.service;
+
+import com.lms.common.transaction.TransactionCallbacks;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.locks.Lock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Keeps an in-process index in step with the other instances and with its own
+ * rebuilds. Changes committed here are applied locally and broadcast over
+ * Redis pub/sub. Changes applied while the index reads the database are
+ * recorded and replayed over the rows read, so a row read before a later
+ * change can't undo it.
+ *
+ * <p>The owning index supplies the write lock guarding its state and the
+ * function applying one change; that function only runs with the lock held.
+ */
+@Slf4j
+final class IndexSync<C> implements MessageListener {
+
+    private static final String SEPARATOR = "|";
+
+    private final String channel;
+    private final Lock writeLock;
+    private final Consumer<C> apply;
+    private final Function<C, String> encoder;
+    private final Function<String, C> decoder;
+    private final StringRedisTemplate redisTemplate;
+
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private List<C> changesDuringRead;
+
+    IndexSync(String channel, Lock writeLock, Consumer<C> apply, Function<C, String> encoder,
+              Function<String, C> decoder, StringRedisTemplate redisTemplate) {
+        this.channel = channel;
+        this.writeLock = writeLock;
+        this.apply = apply;
+        this.encoder = encoder;
+        this.decoder = decoder;
+        this.redisTemplate = redisTemplate;
+    }
+
+    void subscribe(RedisMessageListenerContainer listenerContainer) {
+        listenerContainer.addMessageListener(this, new ChannelTopic(channel));
+    }
+
+    /**
+     * Applies a change once the current transaction commits, here and on every
+     * other instance. A lost broadcast is left to the owner's periodic reload.
+     */
+    void changeAfterCommit(C change) {
+        TransactionCallbacks.afterCommit(() -> {
+            applyLocked(change);
+            try {
+                redisTemplate.convertAndSend(channel, nodeId + SEPARATOR + encoder.apply(change));
+            } catch (RuntimeException e) {
+                log.warn("Failed to publish change on {}: {}", channel, e.getMessage());
+            }
+        });
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        int separator = body.indexOf(SEPARATOR);
+        if (separator < 0 || nodeId.equals(body.substring(0, separator))) {
+            return;
+        }
+        C change = decoder.apply(body.substring(separator + 1));
+        if (change != null) {
+            applyLocked(change);
+        }
+    }
+
+    /**
+     * Runs a query while recording the changes applied concurrently. The caller
+     * then applies the rows and calls {@link #replayChangesDuringRead} under
+     * the write lock.
+     */
+    <T> T read(Supplier<T> query) {
+        writeLock.lock();
+        try {
+            changesDuringRead = new ArrayList<>();
+        } finally {
+            writeLock.unlock();
+        }
+        try {
+            return query.get();
+        } catch (RuntimeException e) {
+            writeLock.lock();
+            try {
+                changesDuringRead = null;
+            } finally {
+                writeLock.unlock();
+            }
+            throw e;
+        }
+    }
+
+    // The caller holds the write lock and has just applied the rows it read
+    void replayChangesDuringRead() {
+        changesDuringRead.forEach(apply);
+        changesDuringRead = null;
+    }
+
+    private void applyLocked(C change) {
+        writeLock.lock();
+        try {
+            apply.accept(change);
+            if (changesDuringRead != null) {
+                changesDuringRead.add(change);
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+}
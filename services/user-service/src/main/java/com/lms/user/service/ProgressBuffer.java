@@ -0,0 +1,97 @@
+package com.lms.user.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Coalesces progress heartbeats. Only the latest progress per enrollment is
+ * kept in memory and written in one JDBC batch per flush, so an active
+ * student costs one update per flush interval instead of one per heartbeat.
+ *
+ * <p>Completion is not buffered; callers changing an enrollment synchronously
+ * {@link #take} its pending progress first so a later flush can't overwrite them.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ProgressBuffer {
+
+    // Completed enrollments are only written synchronously; the timestamp check
+    // keeps an older heartbeat buffered on another instance from winning
+    private static final String FLUSH_SQL = "UPDATE enrollments " +
+            "SET progress_percentage = ?, last_accessed_at = ?, updated_at = ?, version = version + 1 " +
+            "WHERE user_id = ? AND course_id = ? AND status <> 'COMPLETED' " +
+            "AND (last_accessed_at IS NULL OR last_accessed_at <= ?)";
+
+    public record Key(UUID userId, UUID courseId) {
+    }
+
+    public record Pending(double progress, LocalDateTime accessedAt) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final Map<Key, Pending> pending = new ConcurrentHashMap<>();
+
+    public void record(UUID userId, UUID courseId, double progress, LocalDateTime accessedAt) {
+        pending.merge(new Key(userId, courseId), new Pending(progress, accessedAt), ProgressBuffer::latest);
+    }
+
+    public Pending peek(UUID userId, UUID courseId) {
+        return pending.get(new Key(userId, courseId));
+    }
+
+    /**
+     * Removes and returns the buffered progress of an enrollment, or null.
+     */
+    public Pending take(UUID userId, UUID courseId) {
+        return pending.remove(new Key(userId, courseId));
+    }
+
+    @PreDestroy
+    @Scheduled(fixedDelayString = "${lms.user.progress-buffer.flush-interval-ms:5000}")
+    public void flush() {
+        Map<Key, Pending> drained = new HashMap<>();
+        List<Object[]> batch = new ArrayList<>();
+
+        pending.forEach((key, progress) -> {
+            // Conditional remove, so a heartbeat racing with the flush stays buffered
+            if (pending.remove(key, progress)) {
+                drained.put(key, progress);
+                Timestamp accessedAt = Timestamp.valueOf(progress.accessedAt());
+                batch.add(new Object[]{progress.progress(), accessedAt, Timestamp.valueOf(LocalDateTime.now()),
+                        key.userId(), key.courseId(), accessedAt});
+            }
+        });
+
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        try {
+            jdbcTemplate.batchUpdate(FLUSH_SQL, batch);
+        } catch (RuntimeException e) {
+            drained.forEach((key, progress) -> pending.merge(key, progress, ProgressBuffer::latest));
+            log.error("Failed to flush progress for {} enrollment(s), will retry", batch.size(), e);
+            return;
+        }
+        log.debug("Flushed progress for {} enrollment(s)", batch.size());
+    }
+
+    private static Pending latest(Pending a, Pending b) {
+        return b.accessedAt().isBefore(a.accessedAt()) ? a : b;
+    }
+}
@@ -1,8 +1,11 @@
 package com.lms.user.service;
 
+import com.lms.common.cache.CacheBatches;
 import com.lms.common.dto.PagedResponse;
 import com.lms.common.dto.UserDto;
+import com.lms.common.dto.UserSummaryDto;
 import com.lms.common.enums.UserRole;
+import com.lms.common.exception.BadRequestException;
 import com.lms.common.exception.ConflictException;
 import com.lms.common.exception.ResourceNotFoundException;
 import com.lms.user.dto.CreateUserRequest;
@@ -12,6 +15,7 @@ import com.lms.user.mapper.UserMapper;
 import com.lms.user.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
@@ -21,8 +25,12 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -30,8 +38,17 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class UserService {
 
+    static final int MAX_BATCH_SIZE = 100;
+    static final int MAX_SUGGESTIONS = 50;
+    static final int MAX_FAMILY_BATCH_SIZE = 1000;
+
+    // Shorter queries have no full trigram to look up and would scan every user
+    static final int MIN_SEARCH_LENGTH = 3;
+
     private final UserRepository userRepository;
     private final UserMapper userMapper;
+    private final CacheManager cacheManager;
+    private final FamilyGraph familyGraph;
 
     @Transactional(readOnly = true)
     public PagedResponse<UserDto> getAllUsers(Pageable pageable) {
@@ -43,13 +60,25 @@ public class UserService {
     }
 
     @Transactional(readOnly = true)
-    @Cacheable(value = "users", key = "#id")
+    @Cacheable(value = "users", key = "#id", sync = true)
     public UserDto getUserById(UUID id) {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("User", "id", id));
         return userMapper.toDto(user);
     }
 
+    /**
+     * Users for the given ids in request order, read through the "users"
+     * cache. Unknown ids are skipped; all cache misses are loaded with one query.
+     */
+    @Transactional(readOnly = true)
+    public List<UserDto> getUsersByIds(List<UUID> ids) {
+        if (ids.size() > MAX_BATCH_SIZE) {
+            throw new BadRequestException("At most " + MAX_BATCH_SIZE + " user ids can be requested at once");
+        }
+        return getAllThroughCache(ids);
+    }
+
     @Transactional(readOnly = true)
     public UserDto getUserByKeycloakId(String keycloakId) {
         User user = userRepository.findByKeycloakId(keycloakId)
@@ -175,6 +204,31 @@ public class UserService {
         return PagedResponse.of(users, userDtos);
     }
 
+    /**
+     * Active users best matching {@code query} by substring or trigram word
+     * similarity on username, email and name, best match first. Queries shorter
+     * than {@value #MIN_SEARCH_LENGTH} characters match nobody.
+     */
+    @Transactional(readOnly = true)
+    public List<UserSummaryDto> suggestUsers(String query, int limit) {
+        if (limit < 1 || limit > MAX_SUGGESTIONS) {
+            throw new BadRequestException("limit must be between 1 and " + MAX_SUGGESTIONS);
+        }
+        String normalized = query == null ? "" : query.trim().toLowerCase(Locale.ROOT);
+        if (normalized.length() < MIN_SEARCH_LENGTH) {
+            return List.of();
+        }
+
+        List<UUID> ids = userRepository.searchActiveUserIdsBySimilarity(normalized,
+                "%" + escapeLike(normalized) + "%", limit);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<UUID, UserSummaryDto> byId = userRepository.findSummariesByIdIn(ids).stream()
+                .collect(Collectors.toMap(UserSummaryDto::getId, Function.identity()));
+        return ids.stream().map(byId::get).filter(Objects::nonNull).toList();
+    }
+
     @Transactional
     @CacheEvict(value = "users", key = "#userId")
     public UserDto addRole(UUID userId, UserRole role) {
@@ -218,6 +272,7 @@ public class UserService {
 
         parent.addChild(student);
         userRepository.save(parent);
+        familyGraph.link(parentId, studentId);
         log.info("Parent {} linked to student {}", parent.getUsername(), student.getUsername());
     }
 
@@ -230,22 +285,45 @@ public class UserService {
 
         parent.removeChild(student);
         userRepository.save(parent);
+        familyGraph.unlink(parentId, studentId);
         log.info("Parent {} unlinked from student {}", parent.getUsername(), student.getUsername());
     }
 
+    /**
+     * Children of a parent, resolved through {@link FamilyGraph} and read
+     * through the "users" cache.
+     */
     @Transactional(readOnly = true)
     public List<UserDto> getChildrenByParentId(UUID parentId) {
-        List<User> children = userRepository.findChildrenByParentId(parentId);
-        return children.stream()
-                .map(userMapper::toDto)
-                .collect(Collectors.toList());
+        return getFamilyMembers(familyGraph.childrenOf(parentId));
     }
 
     @Transactional(readOnly = true)
     public List<UserDto> getParentsByStudentId(UUID studentId) {
-        List<User> parents = userRepository.findParentsByStudentId(studentId);
-        return parents.stream()
-                .map(userMapper::toDto)
-                .collect(Collectors.toList());
+        return getFamilyMembers(familyGraph.parentsOf(studentId));
+    }
+
+    /**
+     * Parent ids of each student in request order, answered from memory.
+     */
+    public Map<UUID, List<UUID>> getParentIdsByStudentIds(List<UUID> studentIds) {
+        if (studentIds.size() > MAX_FAMILY_BATCH_SIZE) {
+            throw new BadRequestException("At most " + MAX_FAMILY_BATCH_SIZE + " students can be looked up at once");
+        }
+        return familyGraph.parentsOf(studentIds);
+    }
+
+    private List<UserDto> getFamilyMembers(List<UUID> ids) {
+        return ids.isEmpty() ? List.of() : getAllThroughCache(ids);
+    }
+
+    private List<UserDto> getAllThroughCache(List<UUID> ids) {
+        return CacheBatches.getAll(cacheManager.getCache("users"), ids, missing ->
+                userRepository.findAllById(missing).stream()
+                        .collect(Collectors.toMap(User::getId, userMapper::toDto)));
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
     }
 }